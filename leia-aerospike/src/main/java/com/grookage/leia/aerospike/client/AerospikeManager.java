@@ -58,6 +58,7 @@ public class AerospikeManager {
 		bins.add(new Bin(AerospikeStorageConstants.SCHEMA_BIN, schemaKey.getSchemaName()));
 		bins.add(new Bin(AerospikeStorageConstants.ORG_BIN, schemaKey.getOrgId()));
 		bins.add(new Bin(AerospikeStorageConstants.TENANT_BIN, schemaKey.getTenantId()));
+		bins.add(new Bin(AerospikeStorageConstants.UPDATED_AT_BIN, aerospikeRecord.getUpdatedAt()));
 		return bins;
 	}
 
@@ -101,14 +102,7 @@ public class AerospikeManager {
 		}
 	}
 
-	@SneakyThrows
 	public List<AerospikeRecord> getRecords(SearchRequest searchRequest) {
-		final var queryStatement = new Statement();
-		queryStatement.setNamespace(namespace);
-		queryStatement.setBinNames(AerospikeStorageConstants.DEFAULT_BIN);
-		queryStatement.setSetName(AerospikeStorageConstants.SCHEMA_SET);
-		queryStatement.setMaxRecords(10000);
-		final var queryPolicy = client.copyQueryPolicyDefault();
 		final var searchableExpressions = new ArrayList<Exp>();
 		augmentExpressions(AerospikeStorageConstants.NAMESPACE_BIN, searchRequest.getNamespaces(), searchableExpressions);
 		augmentExpressions(AerospikeStorageConstants.SCHEMA_BIN, searchRequest.getSchemaNames(), searchableExpressions);
@@ -116,6 +110,24 @@ public class AerospikeManager {
 				searchableExpressions);
 		augmentExpressions(AerospikeStorageConstants.ORG_BIN, searchRequest.getOrgIds(), searchableExpressions);
 		augmentExpressions(AerospikeStorageConstants.TENANT_BIN, searchRequest.getTenants(), searchableExpressions);
+		return query(searchableExpressions);
+	}
+
+	/*
+		Records written before the updatedAt bin existed have no value for it and never match.
+	 */
+	public List<AerospikeRecord> getRecordsUpdatedAfter(final long updatedAfter) {
+		return query(List.of(Exp.gt(Exp.intBin(AerospikeStorageConstants.UPDATED_AT_BIN), Exp.val(updatedAfter))));
+	}
+
+	@SneakyThrows
+	private List<AerospikeRecord> query(final List<Exp> searchableExpressions) {
+		final var queryStatement = new Statement();
+		queryStatement.setNamespace(namespace);
+		queryStatement.setBinNames(AerospikeStorageConstants.DEFAULT_BIN);
+		queryStatement.setSetName(AerospikeStorageConstants.SCHEMA_SET);
+		queryStatement.setMaxRecords(10000);
+		final var queryPolicy = client.copyQueryPolicyDefault();
 		if (!searchableExpressions.isEmpty()) {
 			if (searchableExpressions.size() == 1) {
 				queryPolicy.setFilterExp(Exp.build(searchableExpressions.get(0)));
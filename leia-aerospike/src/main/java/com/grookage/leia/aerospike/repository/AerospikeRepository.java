@@ -25,10 +25,12 @@ public class AerospikeRepository implements SchemaRepository {
 
 	@SneakyThrows
 	private AerospikeRecord toStorageRecord(SchemaDetails schemaDetails) {
+		schemaDetails.setUpdatedAt(System.currentTimeMillis());
 		return AerospikeRecord.builder()
 				.data(MapperUtils.mapper().writeValueAsBytes(schemaDetails))
 				.schemaState(schemaDetails.getSchemaState())
 				.schemaKey(schemaDetails.getSchemaKey())
+				.updatedAt(schemaDetails.getUpdatedAt())
 				.build();
 	}
 
@@ -58,4 +60,10 @@ public class AerospikeRepository implements SchemaRepository {
 		return aerospikeManager.getRecords(searchRequest)
 				.stream().map(this::toSchemaDetails).toList();
 	}
+
+	@Override
+	public List<SchemaDetails> getSchemasUpdatedAfter(long updatedAfter) {
+		return aerospikeManager.getRecordsUpdatedAfter(updatedAfter)
+				.stream().map(this::toSchemaDetails).toList();
+	}
 }
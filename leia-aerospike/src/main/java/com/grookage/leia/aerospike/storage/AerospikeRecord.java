@@ -22,6 +22,7 @@ public class AerospikeRecord {
 	@NotNull SchemaKey schemaKey;
 	@NotNull SchemaState schemaState;
 	SchemaType schemaType;
+	long updatedAt;
 	@NotNull byte[] data;
 
 	@JsonIgnore
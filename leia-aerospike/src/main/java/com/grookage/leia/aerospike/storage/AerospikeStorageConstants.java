@@ -12,4 +12,5 @@ public class AerospikeStorageConstants {
 	public static final String SCHEMA_STATE_BIN = "schemaState";
 	public static final String ORG_BIN = "org";
 	public static final String TENANT_BIN = "tenant";
+	public static final String UPDATED_AT_BIN = "updatedAt";
 }
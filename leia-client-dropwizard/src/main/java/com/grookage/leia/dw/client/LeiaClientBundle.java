@@ -23,6 +23,7 @@ import com.grookage.leia.client.LeiaMessageProduceClient;
 import com.grookage.leia.client.datasource.LeiaClientRequest;
 import com.grookage.leia.client.refresher.LeiaClientRefresher;
 import com.grookage.leia.client.refresher.LeiaClientSupplier;
+import com.grookage.leia.common.snapshot.SchemaSnapshotStore;
 import com.grookage.leia.common.validation.DefaultLeiaMessageValidator;
 import com.grookage.leia.common.validation.LeiaMessageValidator;
 import com.grookage.leia.mux.MessageProcessor;
@@ -56,6 +57,46 @@ public abstract class LeiaClientBundle<T extends Configuration> implements Confi
 		return false;
 	}
 
+	/*
+		Local file to keep the last fetched schemas in, null to run without a snapshot.
+	 */
+	protected String getSnapshotPath(T configuration) {
+		return null;
+	}
+
+	/*
+		Poll /v1/schema/details/versioned with If-None-Match instead of fetching every schema on every refresh.
+		Needs a Leia server that serves that endpoint.
+	 */
+	protected boolean conditionalFetchEnabled(T configuration) {
+		return false;
+	}
+
+	/*
+		Long-poll /v1/schema/details/watch to pick up schema changes as soon as the server sees them. Periodic
+		refresh stays on as the fallback, so this only takes effect with refreshEnabled. Needs a Leia server that
+		serves that endpoint.
+	 */
+	protected boolean watchEnabled(T configuration) {
+		return false;
+	}
+
+	/*
+		Ask for schemas as Smile, which is smaller and cheaper to parse than JSON. Servers that don't serve Smile
+		answer with JSON as before.
+	 */
+	protected boolean smileEnabled(T configuration) {
+		return false;
+	}
+
+	/*
+		Fetch schemas from /v1/schema/details/page this many at a time, 0 to fetch them in one response. Needs a
+		Leia server that serves that endpoint.
+	 */
+	protected int getPageSize(T configuration) {
+		return 0;
+	}
+
 	protected abstract boolean withProducerClient(T configuration);
 
 	protected abstract KorgHttpConfiguration getHttpConfiguration(T configuration);
@@ -71,7 +112,7 @@ public abstract class LeiaClientBundle<T extends Configuration> implements Confi
 	protected LeiaSchemaValidator getSchemaValidator(T configuration,
 	                                                 LeiaClientRefresher clientRefresher) {
 		return StaticSchemaValidator.builder()
-				.supplier(clientRefresher::getData)
+				.supplier(clientRefresher::getLatest)
 				.packageRoots(getPackageRoots(configuration))
 				.build();
 	}
@@ -108,6 +149,12 @@ public abstract class LeiaClientBundle<T extends Configuration> implements Confi
 								.endPointProvider(getEndpointProvider(configuration))
 								.clientRequestSupplier(clientRequestSupplier)
 								.authHeaderSupplier(getAuthHeaderSupplier(configuration))
+								.snapshotStore(SchemaSnapshotStore.of(getSnapshotPath(configuration)).orElse(null))
+								.serveSnapshotFirst(refreshEnabled(configuration))
+								.conditionalFetch(conditionalFetchEnabled(configuration))
+								.watch(refreshEnabled(configuration) && watchEnabled(configuration))
+								.smile(smileEnabled(configuration))
+								.pageSize(getPageSize(configuration))
 								.build()
 				)
 				.refreshTimeInSeconds(dataRefreshSeconds)
@@ -118,11 +165,13 @@ public abstract class LeiaClientBundle<T extends Configuration> implements Confi
 			@Override
 			public void start() {
 				clientRefresher.start();
+				clientRefresher.getClientSupplier().startWatching();
 				validator.start();
 			}
 
 			@Override
 			public void stop() {
+				clientRefresher.getClientSupplier().stopWatching();
 				validator.stop();
 			}
 		});
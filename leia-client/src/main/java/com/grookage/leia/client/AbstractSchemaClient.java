@@ -37,16 +37,20 @@ public abstract class AbstractSchemaClient implements LeiaSchemaClient {
 	private final LeiaClientRefresher refresher;
 	private final LeiaSchemaValidator schemaValidator;
 
+	/*
+		Goes through the refresher's supplier when it has one, to pick up schemas pushed over the watch.
+	 */
 	public List<SchemaDetails> getSchemaDetails() {
-		return refresher.getData();
+		return null != refresher.getClientSupplier() ? refresher.getLatest() : refresher.getData();
 	}
 
 	public List<SchemaDetails> getSchemaDetails(final Set<SchemaKey> schemas) {
-		if (null == refresher.getData()) {
+		final var schemaDetails = getSchemaDetails();
+		if (null == schemaDetails) {
 			throw new IllegalStateException("The configuration object has returned null data. Something gone wrong with refresher");
 		}
 		final var schemaKeys = schemas.stream().map(SchemaKey::getReferenceId).toList();
-		return refresher.getData().stream()
+		return schemaDetails.stream()
 				.filter(each -> schemaKeys.contains(each.getReferenceId())).toList();
 	}
 
@@ -16,25 +16,71 @@
 
 package com.grookage.leia.client.refresher;
 
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.grookage.korg.marshal.Marshaller;
 import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.VersionedSchemas;
 import com.grookage.leia.models.utils.MapperUtils;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 
 import java.util.List;
 
+/*
+	Reads either a plain schema list or a VersionedSchemas envelope. For the envelope it remembers the version, which
+	the supplier sends back as If-None-Match, and hands out the previous list again when the server says nothing
+	changed.
+	Bodies are JSON or Smile, told apart by Smile's header, so the same marshaller works whatever the server chose
+	to answer with.
+ */
 @NoArgsConstructor
 public class LeiaClientMarshaller implements Marshaller<List<SchemaDetails>> {
+
+	private static final ObjectMapper SMILE_MAPPER = MapperUtils.mapper().copyWith(new SmileFactory());
+
+	@Getter
+	private volatile String version;
+	private volatile List<SchemaDetails> schemas;
+
 	public static LeiaClientMarshaller getInstance() {
 		return new LeiaClientMarshaller();
 	}
 
+	private static boolean isSmile(final byte[] body) {
+		return body.length >= 3 && body[0] == ':' && body[1] == ')' && body[2] == '\n';
+	}
+
+	@SneakyThrows
+	static <T> T read(final byte[] body, final Class<T> type) {
+		return (isSmile(body) ? SMILE_MAPPER : MapperUtils.mapper()).readValue(body, type);
+	}
+
+	@SneakyThrows
+	private static boolean isEnvelope(final ObjectMapper mapper, final byte[] body) {
+		try (final var parser = mapper.createParser(body)) {
+			return parser.nextToken() == JsonToken.START_OBJECT;
+		}
+	}
+
 	@SneakyThrows
 	@Override
 	public List<SchemaDetails> marshall(byte[] body) {
-		return MapperUtils.mapper().readValue(body, new TypeReference<>() {
-		});
+		final var mapper = isSmile(body) ? SMILE_MAPPER : MapperUtils.mapper();
+		if (!isEnvelope(mapper, body)) {
+			return mapper.readValue(body, new TypeReference<>() {
+			});
+		}
+		final var versionedSchemas = mapper.readValue(body, VersionedSchemas.class);
+		if (!versionedSchemas.isModified() && null != schemas) {
+			return schemas;
+		}
+		final var current = null != versionedSchemas.getSchemas() ? versionedSchemas.getSchemas() : List.<SchemaDetails>of();
+		schemas = current;
+		version = versionedSchemas.getVersion();
+		return current;
 	}
 }
@@ -19,16 +19,29 @@ package com.grookage.leia.client.refresher;
 import com.grookage.korg.refresher.HttpKorgRefresher;
 import com.grookage.leia.models.schema.SchemaDetails;
 import lombok.Builder;
+import lombok.Getter;
 
 import java.util.List;
 
 public class LeiaClientRefresher extends HttpKorgRefresher<List<SchemaDetails>> {
 
+	@Getter
+	private final LeiaClientSupplier clientSupplier;
+
 	@Builder
 	public LeiaClientRefresher(LeiaClientSupplier supplier,
 	                           int refreshTimeInSeconds,
 	                           boolean periodicRefresh) {
 		super(supplier, refreshTimeInSeconds, periodicRefresh, null);
+		this.clientSupplier = supplier;
+	}
+
+	/*
+		Schemas received over the supplier's watch can be newer than the last refresh.
+	 */
+	public List<SchemaDetails> getLatest() {
+		final var latest = clientSupplier.getLatest();
+		return null != latest ? latest : getData();
 	}
 
 }
@@ -18,49 +18,287 @@ package com.grookage.leia.client.refresher;
 
 import com.google.common.base.Strings;
 import com.google.common.net.HttpHeaders;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.grookage.korg.config.KorgHttpConfiguration;
 import com.grookage.korg.endpoint.KorgEndPointProvider;
 import com.grookage.korg.suppliers.KorgHttpSupplier;
 import com.grookage.leia.client.datasource.LeiaClientRequest;
+import com.grookage.leia.common.snapshot.SchemaSnapshotStore;
 import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaPage;
 import com.grookage.leia.models.schema.engine.SchemaState;
 import com.grookage.leia.models.utils.MapperUtils;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+/*
+	With a snapshot store, every successful fetch is saved locally. The first get() serves the saved snapshot right
+	away when serveSnapshotFirst is set (only useful with periodic refresh, which then reconciles it), and otherwise
+	falls back to it if the first fetch fails.
+	With conditionalFetch, schemas come from /details/versioned with the last seen version as If-None-Match, so an
+	unchanged result costs the server a fingerprint instead of the full list. This needs a server that has the
+	versioned endpoint.
+	With watch, a background thread also long-polls /details/watch and keeps the newest schemas in latest as soon as
+	the server has them. Periodic refresh keeps running underneath, so while the watch is down (or the server doesn't
+	have it) the client simply falls back to polling.
+	With smile, responses are asked for as Smile, with JSON as the fallback for servers that don't serve it. Gzip is
+	negotiated by the HTTP client on its own.
+	With a pageSize, every fetch walks /details/page a page at a time instead of asking for the whole list in one
+	response. Conditional fetch doesn't apply to paged fetches.
+ */
 @SuppressWarnings({"deprecation", "KotlinInternalInJava"})
+@Slf4j
 @Getter
 public class LeiaClientSupplier extends KorgHttpSupplier<List<SchemaDetails>> {
 
+	private static final long WATCH_TIMEOUT_MS = 20_000;
+	private static final long WATCH_READ_GRACE_MS = 10_000;
+	private static final long WATCH_RETRY_DELAY_MS = 30_000;
+	private static final String SMILE_ACCEPT = MapperUtils.SMILE_MEDIA_TYPE + ", application/json;q=0.9";
+	private static final String PAGE_URL = "/v1/schema/details/page?limit=";
+	private static final String WATCH_URL = "/v1/schema/details/watch?timeoutMs=" + WATCH_TIMEOUT_MS;
+
 	private final Supplier<LeiaClientRequest> clientRequestSupplier;
 	private final Supplier<String> authHeaderSupplier;
+	private final SchemaSnapshotStore snapshotStore;
+	private final boolean serveSnapshotFirst;
+	private final boolean conditionalFetch;
+	private final boolean watch;
+	private final boolean smile;
+	private final int pageSize;
+	@Getter(AccessLevel.NONE)
+	private final OkHttpClient leiaHttpClient = new OkHttpClient();
+	@Getter(AccessLevel.NONE)
+	private final LeiaClientMarshaller clientMarshaller;
+	@Getter(AccessLevel.NONE)
+	private volatile boolean started;
+	@Getter(AccessLevel.NONE)
+	private volatile List<SchemaDetails> lastSaved;
+	private volatile List<SchemaDetails> latest;
+	@Getter(AccessLevel.NONE)
+	private volatile boolean watching;
+	@Getter(AccessLevel.NONE)
+	private volatile Thread watchThread;
+	@Getter(AccessLevel.NONE)
+	private volatile Call watchCall;
 
 	@Builder
 	public LeiaClientSupplier(KorgHttpConfiguration httpConfiguration,
 	                          KorgEndPointProvider endPointProvider,
 	                          Supplier<LeiaClientRequest> clientRequestSupplier,
-	                          Supplier<String> authHeaderSupplier) {
-		super(httpConfiguration, LeiaClientMarshaller.getInstance(), endPointProvider, "getClientNamespaces");
+	                          Supplier<String> authHeaderSupplier,
+	                          SchemaSnapshotStore snapshotStore,
+	                          boolean serveSnapshotFirst,
+	                          boolean conditionalFetch,
+	                          boolean watch,
+	                          boolean smile,
+	                          int pageSize) {
+		this(httpConfiguration, endPointProvider, clientRequestSupplier, authHeaderSupplier, snapshotStore,
+				serveSnapshotFirst, conditionalFetch, watch, smile, pageSize, LeiaClientMarshaller.getInstance());
+	}
+
+	private LeiaClientSupplier(KorgHttpConfiguration httpConfiguration,
+	                           KorgEndPointProvider endPointProvider,
+	                           Supplier<LeiaClientRequest> clientRequestSupplier,
+	                           Supplier<String> authHeaderSupplier,
+	                           SchemaSnapshotStore snapshotStore,
+	                           boolean serveSnapshotFirst,
+	                           boolean conditionalFetch,
+	                           boolean watch,
+	                           boolean smile,
+	                           int pageSize,
+	                           LeiaClientMarshaller marshaller) {
+		super(httpConfiguration, marshaller, endPointProvider, "getClientNamespaces");
 		this.clientRequestSupplier = clientRequestSupplier;
 		this.authHeaderSupplier = authHeaderSupplier;
+		this.snapshotStore = snapshotStore;
+		this.serveSnapshotFirst = serveSnapshotFirst;
+		this.conditionalFetch = conditionalFetch;
+		this.watch = watch;
+		this.smile = smile;
+		this.pageSize = pageSize;
+		this.clientMarshaller = marshaller;
+	}
+
+	private Optional<List<SchemaDetails>> getSnapshot() {
+		return snapshotStore.load().map(snapshot -> {
+			log.info("Serving {} schemas from the snapshot saved at {}", snapshot.getSchemas().size(),
+					snapshot.getSavedAt());
+			return snapshot.getSchemas();
+		});
+	}
+
+	@Override
+	public List<SchemaDetails> get() {
+		final var schemaDetails = fetch();
+		if (null != schemaDetails) {
+			latest = schemaDetails;
+		}
+		return schemaDetails;
+	}
+
+	private List<SchemaDetails> fetch() {
+		if (null == snapshotStore) {
+			return fetchSchemas();
+		}
+		final var firstCall = !started;
+		started = true;
+		if (firstCall && serveSnapshotFirst) {
+			final var snapshot = getSnapshot();
+			if (snapshot.isPresent()) {
+				return snapshot.get();
+			}
+		}
+		final List<SchemaDetails> schemaDetails;
+		try {
+			schemaDetails = fetchSchemas();
+		} catch (RuntimeException e) {
+			if (firstCall) {
+				log.error("Fetching schemas has failed, trying the local snapshot", e);
+				return getSnapshot().orElseThrow(() -> e);
+			}
+			throw e;
+		}
+		if (null != schemaDetails) {
+			saveSnapshot(schemaDetails);
+		} else if (firstCall) {
+			return getSnapshot().orElse(null);
+		}
+		return schemaDetails;
+	}
+
+	private List<SchemaDetails> fetchSchemas() {
+		if (pageSize <= 0) {
+			return super.get();
+		}
+		final var schemaDetails = new ArrayList<SchemaDetails>();
+		String cursor = null;
+		do {
+			final var schemaPage = fetchPage(cursor);
+			if (null != schemaPage.getSchemas()) {
+				schemaDetails.addAll(schemaPage.getSchemas());
+			}
+			cursor = schemaPage.getNextCursor();
+		} while (null != cursor);
+		return schemaDetails;
+	}
+
+	@SneakyThrows
+	private SchemaPage fetchPage(final String cursor) {
+		final var url = PAGE_URL + pageSize
+				+ (null == cursor ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+		try (final var response = leiaHttpClient.newCall(toRequest(url, false)).execute()) {
+			final var body = response.body();
+			if (!response.isSuccessful() || null == body) {
+				throw new IllegalStateException("Fetching a schema page has returned status " + response.code());
+			}
+			return LeiaClientMarshaller.read(body.bytes(), SchemaPage.class);
+		}
+	}
+
+	private void saveSnapshot(final List<SchemaDetails> schemaDetails) {
+		/*
+			A not modified response hands back the very same list, nothing new to save.
+		 */
+		if (null != snapshotStore && schemaDetails != lastSaved) {
+			snapshotStore.save(schemaDetails);
+			lastSaved = schemaDetails;
+		}
+	}
+
+	/*
+		Starts the watch thread when watch is set, a no-op otherwise.
+	 */
+	public synchronized void startWatching() {
+		if (!watch || watching) {
+			return;
+		}
+		watching = true;
+		watchThread = new ThreadFactoryBuilder()
+				.setNameFormat("leia-schema-watch-%d")
+				.setDaemon(true)
+				.build()
+				.newThread(this::watchSchemas);
+		watchThread.start();
+	}
+
+	public synchronized void stopWatching() {
+		watching = false;
+		final var call = watchCall;
+		if (null != call) {
+			call.cancel();
+		}
+		if (null != watchThread) {
+			watchThread.interrupt();
+			watchThread = null;
+		}
+	}
+
+	private void watchSchemas() {
+		final var httpClient = leiaHttpClient.newBuilder()
+				.readTimeout(WATCH_TIMEOUT_MS + WATCH_READ_GRACE_MS, TimeUnit.MILLISECONDS)
+				.build();
+		while (watching) {
+			try {
+				final var call = httpClient.newCall(toRequest(WATCH_URL, true));
+				watchCall = call;
+				try (final var response = call.execute()) {
+					final var body = response.body();
+					if (!response.isSuccessful() || null == body) {
+						throw new IllegalStateException("Schema watch has returned status " + response.code());
+					}
+					final var schemaDetails = clientMarshaller.marshall(body.bytes());
+					if (schemaDetails != latest) {
+						log.info("Schema watch has received {} schemas", schemaDetails.size());
+						latest = schemaDetails;
+						saveSnapshot(schemaDetails);
+					}
+				}
+			} catch (Exception e) {
+				if (!watching) {
+					return;
+				}
+				log.warn("Schema watch is unavailable, falling back to polling for {} ms: {}",
+						WATCH_RETRY_DELAY_MS, e.getMessage());
+				try {
+					Thread.sleep(WATCH_RETRY_DELAY_MS);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
 	}
 
 	@Override
 	protected String url() {
-		return "/v1/schema/details/all";
+		return conditionalFetch ? "/v1/schema/details/versioned" : "/v1/schema/details/all";
 	}
 
 	@Override
-	@SneakyThrows
 	protected Request getRequest(String url) {
+		return toRequest(url, conditionalFetch);
+	}
+
+	@SneakyThrows
+	private Request toRequest(final String url, final boolean withVersion) {
 		final var clientRequest = clientRequestSupplier.get();
 		final var requestBody = RequestBody.create(
 				okhttp3.MediaType.parse("application/json; charset=utf-8"),
@@ -78,6 +316,13 @@ public class LeiaClientSupplier extends KorgHttpSupplier<List<SchemaDetails>> {
 		if (!Strings.isNullOrEmpty(suppliedHeader)) {
 			requestBuilder.addHeader(HttpHeaders.AUTHORIZATION, suppliedHeader);
 		}
+		if (smile) {
+			requestBuilder.addHeader(HttpHeaders.ACCEPT, SMILE_ACCEPT);
+		}
+		final var version = clientMarshaller.getVersion();
+		if (withVersion && !Strings.isNullOrEmpty(version)) {
+			requestBuilder.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + version + "\"");
+		}
 		return requestBuilder.build();
 	}
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.client.refresher;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.VersionedSchemas;
+import com.grookage.leia.models.utils.MapperUtils;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class LeiaClientMarshallerTest {
+
+	@Test
+	@SneakyThrows
+	void testPlainAndVersionedResponses() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var marshaller = LeiaClientMarshaller.getInstance();
+		final var plain = marshaller.marshall(MapperUtils.mapper().writeValueAsBytes(List.of(schemaDetails)));
+		Assertions.assertEquals(1, plain.size());
+		Assertions.assertNull(marshaller.getVersion());
+
+		final var modified = marshaller.marshall(MapperUtils.mapper().writeValueAsBytes(VersionedSchemas.builder()
+				.version("v1")
+				.modified(true)
+				.schemas(List.of(schemaDetails))
+				.build()));
+		Assertions.assertEquals(1, modified.size());
+		Assertions.assertEquals("v1", marshaller.getVersion());
+
+		final var notModified = marshaller.marshall(MapperUtils.mapper().writeValueAsBytes(VersionedSchemas.builder()
+				.version("v1")
+				.modified(false)
+				.build()));
+		Assertions.assertSame(modified, notModified);
+	}
+
+	@Test
+	@SneakyThrows
+	void testSmileResponses() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var smileMapper = MapperUtils.mapper().copyWith(SmileFactory.builder()
+				.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+				.build());
+		final var marshaller = LeiaClientMarshaller.getInstance();
+		final var jsonBody = MapperUtils.mapper().writeValueAsBytes(List.of(schemaDetails));
+		final var smileBody = smileMapper.writeValueAsBytes(List.of(schemaDetails));
+		Assertions.assertTrue(smileBody.length < jsonBody.length);
+		final var plain = marshaller.marshall(smileBody);
+		Assertions.assertEquals(1, plain.size());
+		Assertions.assertEquals(schemaDetails.getReferenceId(), plain.get(0).getReferenceId());
+		Assertions.assertEquals(schemaDetails.getAttributes(), plain.get(0).getAttributes());
+
+		final var versioned = marshaller.marshall(smileMapper.writeValueAsBytes(VersionedSchemas.builder()
+				.version("v1")
+				.modified(true)
+				.schemas(List.of(schemaDetails))
+				.build()));
+		Assertions.assertEquals(1, versioned.size());
+		Assertions.assertEquals("v1", marshaller.getVersion());
+	}
+}
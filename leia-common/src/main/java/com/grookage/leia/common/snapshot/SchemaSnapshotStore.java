@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.common.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.utils.MapperUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+	Keeps the last good set of schemas on local disk as gzipped JSON, so a refresher can serve something before its
+	first remote fetch completes. Saves go to a temp file in the same directory that is fsynced and then renamed over
+	the snapshot, so a crash mid-write leaves the previous snapshot intact.
+ */
+@Slf4j
+@Getter
+public class SchemaSnapshotStore {
+
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final Path path;
+
+	public SchemaSnapshotStore(final Path path) {
+		Preconditions.checkNotNull(path, "Snapshot path can't be null");
+		this.path = path;
+	}
+
+	public static Optional<SchemaSnapshotStore> of(final String path) {
+		return Strings.isNullOrEmpty(path)
+				? Optional.empty()
+				: Optional.of(new SchemaSnapshotStore(Path.of(path)));
+	}
+
+	public synchronized void save(final Collection<SchemaDetails> schemas) {
+		final var snapshot = SchemaSnapshot.builder()
+				.savedAt(System.currentTimeMillis())
+				.schemas(new ArrayList<>(schemas))
+				.build();
+		final var tempPath = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+		try {
+			if (null != path.getParent()) {
+				Files.createDirectories(path.getParent());
+			}
+			try (final var channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				final var outputStream = new GZIPOutputStream(Channels.newOutputStream(channel));
+				/*
+					The writer must leave the stream open, closing it would close the channel before the fsync
+				 */
+				MapperUtils.mapper().writer()
+						.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+						.writeValue(outputStream, snapshot);
+				outputStream.finish();
+				outputStream.flush();
+				channel.force(true);
+			}
+			try {
+				Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			log.debug("Saved a snapshot of {} schemas to {}", schemas.size(), path);
+		} catch (IOException e) {
+			log.error("Saving the schema snapshot to {} has failed", path, e);
+		}
+	}
+
+	/*
+		Empty when there is no snapshot yet or it can't be read, a broken snapshot is never worse than none.
+	 */
+	public Optional<SchemaSnapshot> load() {
+		if (!Files.isRegularFile(path)) {
+			return Optional.empty();
+		}
+		try (final var inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+			return Optional.of(MapperUtils.mapper().readValue(inputStream, SchemaSnapshot.class));
+		} catch (IOException e) {
+			log.error("Reading the schema snapshot from {} has failed, ignoring it", path, e);
+			return Optional.empty();
+		}
+	}
+}
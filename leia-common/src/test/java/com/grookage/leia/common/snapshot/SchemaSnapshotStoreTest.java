@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.common.snapshot;
+
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.SchemaType;
+import com.grookage.leia.models.schema.SchemaValidationType;
+import com.grookage.leia.models.schema.engine.SchemaState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+class SchemaSnapshotStoreTest {
+
+	private static SchemaDetails getSchemaDetails(final String schemaName) {
+		return SchemaDetails.builder()
+				.schemaKey(SchemaKey.builder()
+						.orgId("testOrg")
+						.namespace("testNamespace")
+						.tenantId("tenantId")
+						.schemaName(schemaName)
+						.version("V1234")
+						.type("default")
+						.build())
+				.schemaState(SchemaState.APPROVED)
+				.schemaType(SchemaType.JSON)
+				.validationType(SchemaValidationType.MATCHING)
+				.attributes(Set.of())
+				.updatedAt(1000L)
+				.build();
+	}
+
+	@Test
+	void testSaveAndLoad(@TempDir Path tempDir) {
+		final var store = new SchemaSnapshotStore(tempDir.resolve("snapshots").resolve("registry.snapshot"));
+		Assertions.assertTrue(store.load().isEmpty());
+		store.save(List.of(getSchemaDetails("schema1"), getSchemaDetails("schema2")));
+		store.save(List.of(getSchemaDetails("schema3")));
+		final var snapshot = store.load().orElse(null);
+		Assertions.assertNotNull(snapshot);
+		Assertions.assertTrue(snapshot.getSavedAt() > 0);
+		Assertions.assertEquals(1, snapshot.getSchemas().size());
+		Assertions.assertEquals(getSchemaDetails("schema3"), snapshot.getSchemas().get(0));
+		Assertions.assertFalse(Files.exists(tempDir.resolve("snapshots").resolve("registry.snapshot.tmp")));
+	}
+
+	@Test
+	@SneakyThrows
+	void testCorruptSnapshotIsIgnored(@TempDir Path tempDir) {
+		final var path = tempDir.resolve("registry.snapshot");
+		Files.write(path, new byte[]{1, 2, 3});
+		Assertions.assertTrue(new SchemaSnapshotStore(path).load().isEmpty());
+		Assertions.assertTrue(SchemaSnapshotStore.of(null).isEmpty());
+	}
+}
@@ -51,15 +51,24 @@ public class SchemaIngestor<U extends SchemaUpdater> {
 		return this;
 	}
 
+	@SneakyThrows
+	private SchemaDetails process(SchemaEvent event, SchemaContext schemaContext) {
+		final var processor = processorHub.getProcessor(event)
+				.orElseThrow((Supplier<Throwable>) () -> LeiaException.error(LeiaSchemaErrorCode.PROCESSOR_NOT_FOUND));
+		processor.process(schemaContext);
+		final var schemaDetails = schemaContext.getContext(SchemaDetails.class).orElse(null);
+		if (null != schemaDetails) {
+			processorHub.notifyListeners(event, schemaDetails);
+		}
+		return schemaDetails;
+	}
+
 	@SneakyThrows
 	public SchemaDetails add(U schemaUpdater, CreateSchemaRequest createSchemaRequest) {
 		final var schemaContext = new SchemaContext();
 		schemaContext.addContext(CreateSchemaRequest.class.getSimpleName(), createSchemaRequest);
 		ContextUtils.addSchemaUpdaterContext(schemaContext, schemaUpdater);
-		final var processor = processorHub.getProcessor(SchemaEvent.CREATE_SCHEMA)
-				.orElseThrow((Supplier<Throwable>) () -> LeiaException.error(LeiaSchemaErrorCode.PROCESSOR_NOT_FOUND));
-		processor.process(schemaContext);
-		return schemaContext.getContext(SchemaDetails.class).orElse(null);
+		return process(SchemaEvent.CREATE_SCHEMA, schemaContext);
 	}
 
 	@SneakyThrows
@@ -67,10 +76,7 @@ public class SchemaIngestor<U extends SchemaUpdater> {
 		final var schemaContext = new SchemaContext();
 		schemaContext.addContext(UpdateSchemaRequest.class.getSimpleName(), updateRequest);
 		ContextUtils.addSchemaUpdaterContext(schemaContext, schemaUpdater);
-		final var processor = processorHub.getProcessor(SchemaEvent.UPDATE_SCHEMA)
-				.orElseThrow((Supplier<Throwable>) () -> LeiaException.error(LeiaSchemaErrorCode.PROCESSOR_NOT_FOUND));
-		processor.process(schemaContext);
-		return schemaContext.getContext(SchemaDetails.class).orElse(null);
+		return process(SchemaEvent.UPDATE_SCHEMA, schemaContext);
 	}
 
 	@SneakyThrows
@@ -78,10 +84,7 @@ public class SchemaIngestor<U extends SchemaUpdater> {
 		final var schemaContext = new SchemaContext();
 		schemaContext.addContext(SchemaKey.class.getSimpleName(), schemaKey);
 		ContextUtils.addSchemaUpdaterContext(schemaContext, schemaUpdater);
-		final var processor = processorHub.getProcessor(SchemaEvent.APPROVE_SCHEMA)
-				.orElseThrow((Supplier<Throwable>) () -> LeiaException.error(LeiaSchemaErrorCode.PROCESSOR_NOT_FOUND));
-		processor.process(schemaContext);
-		return schemaContext.getContext(SchemaDetails.class).orElse(null);
+		return process(SchemaEvent.APPROVE_SCHEMA, schemaContext);
 	}
 
 	@SneakyThrows
@@ -89,9 +92,6 @@ public class SchemaIngestor<U extends SchemaUpdater> {
 		final var schemaContext = new SchemaContext();
 		schemaContext.addContext(SchemaKey.class.getSimpleName(), schemaKey);
 		ContextUtils.addSchemaUpdaterContext(schemaContext, schemaUpdater);
-		final var processor = processorHub.getProcessor(SchemaEvent.REJECT_SCHEMA)
-				.orElseThrow((Supplier<Throwable>) () -> LeiaException.error(LeiaSchemaErrorCode.PROCESSOR_NOT_FOUND));
-		processor.process(schemaContext);
-		return schemaContext.getContext(SchemaDetails.class).orElse(null);
+		return process(SchemaEvent.REJECT_SCHEMA, schemaContext);
 	}
 }
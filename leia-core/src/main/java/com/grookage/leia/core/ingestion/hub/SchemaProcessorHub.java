@@ -19,20 +19,24 @@ package com.grookage.leia.core.ingestion.hub;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import com.grookage.leia.core.ingestion.processors.*;
+import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.engine.SchemaEvent;
 import com.grookage.leia.models.schema.engine.SchemaEventVisitor;
 import com.grookage.leia.repository.SchemaRepository;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 @Slf4j
 public class SchemaProcessorHub {
 
 	private final Map<SchemaEvent, SchemaProcessor> processors = Maps.newHashMap();
+	private final List<SchemaChangeListener> listeners = new CopyOnWriteArrayList<>();
 	private Supplier<SchemaRepository> repositorySupplier;
 
 	private SchemaProcessorHub() {
@@ -48,6 +52,12 @@ public class SchemaProcessorHub {
 		return this;
 	}
 
+	public SchemaProcessorHub withSchemaChangeListener(SchemaChangeListener listener) {
+		Preconditions.checkNotNull(listener, "Schema change listener can't be null");
+		this.listeners.add(listener);
+		return this;
+	}
+
 	public SchemaProcessorHub build() {
 		Preconditions.checkNotNull(repositorySupplier, "Schema Repository can't be null");
 		Arrays.stream(SchemaEvent.values()).forEach(this::buildProcessor);
@@ -91,4 +101,18 @@ public class SchemaProcessorHub {
 		return Optional.ofNullable(processors.get(event));
 	}
 
+	/*
+		The change is already in the repository by the time listeners run, so a failing listener is only logged.
+	 */
+	public void notifyListeners(final SchemaEvent event, final SchemaDetails schemaDetails) {
+		listeners.forEach(listener -> {
+			try {
+				listener.onSchemaChange(event, schemaDetails);
+			} catch (Exception e) {
+				log.error("Schema change listener {} failed for event {} on schema {}", listener, event,
+						schemaDetails.getReferenceId(), e);
+			}
+		});
+	}
+
 }
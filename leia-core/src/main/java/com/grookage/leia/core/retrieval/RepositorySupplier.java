@@ -17,17 +17,100 @@
 package com.grookage.leia.core.retrieval;
 
 import com.grookage.korg.suppliers.KorgSupplier;
+import com.grookage.leia.common.snapshot.SchemaSnapshotStore;
 import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaKey;
 import com.grookage.leia.models.schema.SchemaRegistry;
+import com.grookage.leia.models.utils.SchemaUtils;
 import com.grookage.leia.repository.SchemaRepository;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
-@AllArgsConstructor
+/*
+	Hands out a fresh SchemaRegistry on every refresh that changes it. A full reload happens on the first call and then once every
+	fullResyncIntervalMs, in between only the schemas written after the last seen updatedAt are fetched and applied to
+	a copy of the previous registry, so readers holding the old one never see it change underneath them.
+	With a snapshot store, the first call serves the last saved snapshot instead, the next refresh reconciles it
+	with a full reload, and every refresh that changes the registry's fingerprint saves it again.
+	Schemas written through apply() are only folded into a copy of the registry when it is next read through
+	getLatest() or refreshed, so a burst of writes costs one copy rather than one per write.
+	Change listeners run on the refreshing (or applying) thread every time the registry changes, so they should only
+	schedule work.
+ */
+@Slf4j
 public class RepositorySupplier implements KorgSupplier<SchemaRegistry> {
 
+	/*
+		A write can become visible to the store's query a little after its timestamp (index refresh, clock skew
+		between writers), so every delta re-reads this far behind the watermark. Re-applying a schema is a no-op.
+	 */
+	private static final long WATERMARK_OVERLAP_MS = 5_000;
+
 	private final Supplier<SchemaRepository> rSupplier;
+	private final long fullResyncIntervalMs;
+	private final SchemaSnapshotStore snapshotStore;
+	private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+	/*
+		Guards swapping the registry, the schemas applied since the current refresh started and the ones not yet
+		folded into the registry
+	 */
+	private final Object swapLock = new Object();
+	private final Map<SchemaKey, SchemaDetails> applied = new HashMap<>();
+	private final Map<SchemaKey, SchemaDetails> pending = new HashMap<>();
+	private volatile boolean hasPending;
+	private volatile SchemaRegistry registry;
+	private long watermark;
+	private long lastFullSyncAt;
+	private String savedFingerprint;
+
+	public RepositorySupplier(final Supplier<SchemaRepository> rSupplier) {
+		this(rSupplier, 0);
+	}
+
+	public RepositorySupplier(final Supplier<SchemaRepository> rSupplier,
+	                          final long fullResyncIntervalMs) {
+		this(rSupplier, fullResyncIntervalMs, null);
+	}
+
+	public RepositorySupplier(final Supplier<SchemaRepository> rSupplier,
+	                          final long fullResyncIntervalMs,
+	                          final SchemaSnapshotStore snapshotStore) {
+		this.rSupplier = rSupplier;
+		this.fullResyncIntervalMs = fullResyncIntervalMs;
+		this.snapshotStore = snapshotStore;
+	}
+
+	public void addChangeListener(final Runnable changeListener) {
+		changeListeners.add(changeListener);
+	}
+
+	private void setRegistry(final SchemaRegistry schemaRegistry) {
+		registry = schemaRegistry;
+		clearPending();
+		notifyChangeListeners();
+	}
+
+	private void clearPending() {
+		pending.clear();
+		hasPending = false;
+	}
+
+	private void notifyChangeListeners() {
+		changeListeners.forEach(changeListener -> {
+			try {
+				changeListener.run();
+			} catch (Exception e) {
+				log.error("Schema registry change listener has failed", e);
+			}
+		});
+	}
 
 	@Override
 	public void start() {
@@ -39,13 +122,162 @@ public class RepositorySupplier implements KorgSupplier<SchemaRegistry> {
 		//NOOP
 	}
 
+	/*
+		Refreshes are serialized on this supplier, but the remote fetch and the snapshot save run outside swapLock, so
+		a concurrent apply() only ever waits for a registry copy, never for the repository.
+	 */
 	@Override
-	public SchemaRegistry get() {
-		final var schemaDetails = rSupplier.get().getSchemas(
-				SearchRequest.builder().build()
-		);
-		final var registry = new SchemaRegistry();
-		schemaDetails.forEach(registry::add);
-		return registry;
+	public synchronized SchemaRegistry get() {
+		if (null == registry && null != snapshotStore) {
+			final var snapshot = snapshotStore.load().orElse(null);
+			if (null != snapshot) {
+				log.info("Serving {} schemas from the snapshot saved at {} until the first refresh",
+						snapshot.getSchemas().size(), snapshot.getSavedAt());
+				final var restored = new SchemaRegistry();
+				snapshot.getSchemas().forEach(restored::add);
+				synchronized (swapLock) {
+					applied.values().forEach(schemaDetails -> putIfNotOlder(restored, schemaDetails));
+					setRegistry(restored);
+				}
+				watermark = getWatermark(snapshot.getSchemas(), 0);
+				savedFingerprint = SchemaUtils.getFingerprint(snapshot.getSchemas());
+				return restored;
+			}
+		}
+		synchronized (swapLock) {
+			applied.clear();
+		}
+		final var currentTime = System.currentTimeMillis();
+		if (null == registry || currentTime - lastFullSyncAt >= fullResyncIntervalMs) {
+			final var schemaDetails = rSupplier.get().getSchemas(
+					SearchRequest.builder().build()
+			);
+			/*
+				A reload that found nothing new keeps handing out the same registry, so caches keyed on it survive
+			 */
+			final var current = registry;
+			final var unchanged = null != current && SchemaUtils.getFingerprint(schemaDetails)
+					.equals(SchemaUtils.getFingerprint(current.getSchemaDetails()));
+			final SchemaRegistry served;
+			synchronized (swapLock) {
+				if (unchanged && registry == current && applied.isEmpty()) {
+					/*
+						Anything still pending was committed before the fetch, which found the registry as it was
+					 */
+					clearPending();
+					served = current;
+				} else {
+					final var refreshed = new SchemaRegistry();
+					schemaDetails.forEach(refreshed::add);
+					/*
+						The fetch may have started before schemas applied while it ran were committed
+					 */
+					applied.values().forEach(each -> putIfNotOlder(refreshed, each));
+					setRegistry(refreshed);
+					served = refreshed;
+				}
+			}
+			watermark = getWatermark(schemaDetails, 0);
+			lastFullSyncAt = currentTime;
+			saveSnapshot(served);
+			return served;
+		}
+		final var previous = registry;
+		final var changed = rSupplier.get().getSchemasUpdatedAfter(Math.max(0, watermark - WATERMARK_OVERLAP_MS))
+				.stream()
+				.filter(schemaDetails -> previous.getSchemaDetails(schemaDetails.getSchemaKey())
+						.map(existing -> existing.getUpdatedAt() != schemaDetails.getUpdatedAt())
+						.orElse(true))
+				.toList();
+		if (changed.isEmpty()) {
+			return getLatest();
+		}
+		log.debug("Applying {} changed schemas on top of the registry", changed.size());
+		final var refreshed = new SchemaRegistry();
+		synchronized (swapLock) {
+			registry.getSchemaDetails().forEach(refreshed::add);
+			pending.values().forEach(each -> putIfNotOlder(refreshed, each));
+			changed.forEach(each -> putIfNotOlder(refreshed, each));
+			setRegistry(refreshed);
+		}
+		watermark = getWatermark(changed, watermark);
+		saveSnapshot(refreshed);
+		return refreshed;
+	}
+
+	/*
+		A full reload that found nothing new leaves the snapshot alone
+	 */
+	private void saveSnapshot(final SchemaRegistry schemaRegistry) {
+		if (null == snapshotStore) {
+			return;
+		}
+		final var schemas = schemaRegistry.getSchemaDetails();
+		final var fingerprint = SchemaUtils.getFingerprint(schemas);
+		if (fingerprint.equals(savedFingerprint)) {
+			return;
+		}
+		snapshotStore.save(schemas);
+		savedFingerprint = fingerprint;
+	}
+
+	/*
+		The latest registry, including schemas applied through apply() since the last refresh. Null until the
+		first get(). Pending schemas are folded into a single copy of the registry here, the copy is only paid for
+		by the first read after a burst of writes.
+	 */
+	public SchemaRegistry getLatest() {
+		if (!hasPending) {
+			return registry;
+		}
+		synchronized (swapLock) {
+			if (!pending.isEmpty()) {
+				final var refreshed = new SchemaRegistry();
+				registry.getSchemaDetails().forEach(refreshed::add);
+				pending.values().forEach(each -> putIfNotOlder(refreshed, each));
+				registry = refreshed;
+				clearPending();
+			}
+			return registry;
+		}
+	}
+
+	/*
+		Write-through for a schema the caller just committed to the repository. The schema is queued for the next
+		copy of the registry rather than mutating it, so searches in flight keep a consistent view, and an older copy
+		never replaces a newer one. It is also remembered until the next refresh swaps its registry in, so a reload
+		fetched before the commit can't drop it.
+	 */
+	public void apply(final SchemaDetails schemaDetails) {
+		synchronized (swapLock) {
+			applied.put(schemaDetails.getSchemaKey(), schemaDetails);
+			final var current = registry;
+			if (null == current) {
+				return;
+			}
+			final var existing = null != pending.get(schemaDetails.getSchemaKey())
+					? pending.get(schemaDetails.getSchemaKey())
+					: current.getSchemaDetails(schemaDetails.getSchemaKey()).orElse(null);
+			if (null != existing && existing.getUpdatedAt() > schemaDetails.getUpdatedAt()) {
+				return;
+			}
+			pending.put(schemaDetails.getSchemaKey(), schemaDetails);
+			hasPending = true;
+		}
+		notifyChangeListeners();
+	}
+
+	private void putIfNotOlder(final SchemaRegistry schemaRegistry, final SchemaDetails schemaDetails) {
+		final var existing = schemaRegistry.getSchemaDetails(schemaDetails.getSchemaKey()).orElse(null);
+		if (null == existing || existing.getUpdatedAt() <= schemaDetails.getUpdatedAt()) {
+			schemaRegistry.put(schemaDetails);
+		}
+	}
+
+	private long getWatermark(final List<SchemaDetails> schemaDetails, final long current) {
+		return schemaDetails.stream()
+				.filter(Objects::nonNull)
+				.mapToLong(SchemaDetails::getUpdatedAt)
+				.reduce(current, Math::max);
 	}
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.grookage.leia.models.request.LeiaRequestContext;
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.VersionedSchemas;
+import com.grookage.leia.models.utils.SchemaUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+	Parks long-poll requests until the result of their search moves away from the version the caller already has,
+	or until their timeout, whichever comes first. Every change reported by the retriever re-runs each distinct
+	search once on a single watcher thread, however many callers are waiting on it, and change bursts are coalesced
+	into one pass.
+ */
+@Slf4j
+public class SchemaChangeWatcher implements Closeable {
+
+	private static final LeiaRequestContext REQUEST_CONTEXT = LeiaRequestContext.builder().build();
+
+	private final SchemaRetriever schemaRetriever;
+	private final ScheduledExecutorService executorService;
+	private final AtomicBoolean evaluationPending = new AtomicBoolean();
+	private final Map<SearchRequest, List<Watch>> watches = new HashMap<>();
+
+	public SchemaChangeWatcher(final SchemaRetriever schemaRetriever) {
+		this.schemaRetriever = schemaRetriever;
+		this.executorService = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat("leia-schema-watcher-%d").setDaemon(true).build());
+		schemaRetriever.addChangeListener(this::onChange);
+	}
+
+	private static VersionedSchemas notModified(final String version) {
+		return VersionedSchemas.builder()
+				.version(version)
+				.modified(false)
+				.build();
+	}
+
+	private VersionedSchemas getVersionedSchemas(final SearchRequest searchRequest) {
+		final var schemas = schemaRetriever.getSchemaDetails(REQUEST_CONTEXT, searchRequest);
+		return VersionedSchemas.builder()
+				.version(SchemaUtils.getFingerprint(schemas))
+				.modified(true)
+				.schemas(schemas)
+				.build();
+	}
+
+	/*
+		Completes right away when the search no longer matches knownVersion (or knownVersion is null), and otherwise
+		once it stops matching, with a not modified result after timeoutMs.
+	 */
+	public CompletableFuture<VersionedSchemas> watch(final SearchRequest searchRequest,
+	                                                 final String knownVersion,
+	                                                 final long timeoutMs) {
+		final var current = getVersionedSchemas(searchRequest);
+		if (!Objects.equals(current.getVersion(), knownVersion) || executorService.isShutdown()) {
+			return CompletableFuture.completedFuture(current);
+		}
+		final var watch = new Watch(searchRequest, knownVersion);
+		register(watch);
+		watch.timeout = executorService.schedule(() -> complete(watch, notModified(knownVersion)),
+				timeoutMs, TimeUnit.MILLISECONDS);
+		/*
+			A change between the check above and register() would otherwise go unnoticed until the next one.
+		 */
+		onChange();
+		return watch.future;
+	}
+
+	public synchronized int getWatchCount() {
+		return watches.values().stream().mapToInt(List::size).sum();
+	}
+
+	private void onChange() {
+		if (executorService.isShutdown() || !evaluationPending.compareAndSet(false, true)) {
+			return;
+		}
+		executorService.execute(this::evaluate);
+	}
+
+	private void evaluate() {
+		evaluationPending.set(false);
+		getWatches().forEach((searchRequest, pending) -> {
+			try {
+				final var current = getVersionedSchemas(searchRequest);
+				pending.stream()
+						.filter(watch -> !Objects.equals(current.getVersion(), watch.knownVersion))
+						.forEach(watch -> complete(watch, current));
+			} catch (Exception e) {
+				log.error("Evaluating schema watches for {} has failed, they will be retried on the next change",
+						searchRequest, e);
+			}
+		});
+	}
+
+	private void complete(final Watch watch, final VersionedSchemas versionedSchemas) {
+		if (!deregister(watch)) {
+			return;
+		}
+		final var timeout = watch.timeout;
+		if (null != timeout) {
+			timeout.cancel(false);
+		}
+		watch.future.complete(versionedSchemas);
+	}
+
+	private synchronized void register(final Watch watch) {
+		watches.computeIfAbsent(watch.searchRequest, key -> new ArrayList<>()).add(watch);
+	}
+
+	private synchronized boolean deregister(final Watch watch) {
+		final var pending = watches.get(watch.searchRequest);
+		if (null == pending || !pending.remove(watch)) {
+			return false;
+		}
+		if (pending.isEmpty()) {
+			watches.remove(watch.searchRequest);
+		}
+		return true;
+	}
+
+	private synchronized Map<SearchRequest, List<Watch>> getWatches() {
+		final var copy = new HashMap<SearchRequest, List<Watch>>();
+		watches.forEach((searchRequest, pending) -> copy.put(searchRequest, List.copyOf(pending)));
+		return copy;
+	}
+
+	/*
+		Releases every parked caller with a not modified result, so they go back to polling.
+	 */
+	@Override
+	public void close() {
+		executorService.shutdownNow();
+		getWatches().values().forEach(pending -> pending.forEach(watch -> complete(watch, notModified(watch.knownVersion))));
+	}
+
+	@RequiredArgsConstructor
+	private static class Watch {
+		private final SearchRequest searchRequest;
+		private final String knownVersion;
+		private final CompletableFuture<VersionedSchemas> future = new CompletableFuture<>();
+		private volatile ScheduledFuture<?> timeout;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.repository.SchemaRepository;
+import com.grookage.leia.repository.config.KeyCacheConfig;
+import lombok.SneakyThrows;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+	Read-through cache of single schemas by SchemaKey. Concurrent misses on a key share one repository read, both
+	through the cache and through load(), which always goes to the repository and refreshes the entry.
+ */
+public class SchemaKeyCache {
+
+	private final Supplier<SchemaRepository> repositorySupplier;
+	private final KeyCacheConfig config;
+	private final LoadingCache<SchemaKey, Optional<SchemaDetails>> cache;
+	private final ConcurrentHashMap<SchemaKey, CompletableFuture<Optional<SchemaDetails>>> inflight =
+			new ConcurrentHashMap<>();
+
+	public SchemaKeyCache(final Supplier<SchemaRepository> repositorySupplier,
+	                      final KeyCacheConfig config) {
+		Preconditions.checkNotNull(repositorySupplier, "Schema Repository can't be null");
+		Preconditions.checkNotNull(config, "Key cache config can't be null");
+		this.repositorySupplier = repositorySupplier;
+		this.config = config;
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(config.getMaximumSize())
+				.expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build(new CacheLoader<>() {
+					@Override
+					public Optional<SchemaDetails> load(SchemaKey schemaKey) {
+						return repositorySupplier.get().get(schemaKey);
+					}
+				});
+	}
+
+	private static RuntimeException unwrap(final Throwable throwable) {
+		final var cause = null != throwable.getCause() ? throwable.getCause() : throwable;
+		return cause instanceof RuntimeException runtimeException
+				? runtimeException
+				: new IllegalStateException(cause);
+	}
+
+	public Optional<SchemaDetails> get(final SchemaKey schemaKey) {
+		final Optional<SchemaDetails> schemaDetails;
+		try {
+			schemaDetails = cache.getUnchecked(schemaKey);
+		} catch (UncheckedExecutionException e) {
+			throw unwrap(e);
+		}
+		if (schemaDetails.isEmpty() && !config.isCacheMissingKeys()) {
+			cache.invalidate(schemaKey);
+		}
+		return schemaDetails;
+	}
+
+	@SneakyThrows
+	public Optional<SchemaDetails> load(final SchemaKey schemaKey) {
+		final var future = new CompletableFuture<Optional<SchemaDetails>>();
+		final var existing = inflight.putIfAbsent(schemaKey, future);
+		if (null != existing) {
+			try {
+				return existing.join();
+			} catch (CompletionException e) {
+				throw unwrap(e);
+			}
+		}
+		try {
+			final var schemaDetails = repositorySupplier.get().get(schemaKey);
+			if (schemaDetails.isPresent() || config.isCacheMissingKeys()) {
+				cache.put(schemaKey, schemaDetails);
+			} else {
+				cache.invalidate(schemaKey);
+			}
+			future.complete(schemaDetails);
+			return schemaDetails;
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inflight.remove(schemaKey, future);
+		}
+	}
+
+	public void put(final SchemaDetails schemaDetails) {
+		cache.put(schemaDetails.getSchemaKey(), Optional.of(schemaDetails));
+	}
+
+	public long getSize() {
+		return cache.size();
+	}
+
+	public double getHitRate() {
+		return cache.stats().hitRate();
+	}
+
+	public long getLoadCount() {
+		return cache.stats().loadCount();
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.SchemaRegistry;
+import com.grookage.leia.models.utils.SchemaUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+	JSON for schema responses. A cache generation belongs to the registry instance it was built from, and searches are
+	stitched together from per-schema fragments and kept by their normalised search request. Fragments are keyed by
+	SchemaKey and updatedAt, which the repositories stamp on every write, so when a changed registry is asked for, the
+	new generation takes over the previous one's fragments for schemas that didn't change, and its search bodies where
+	the search's fingerprint is the same. Anything not taken over is dropped along with the previous generation.
+ */
+public class SchemaResponseCache {
+
+	private static final int MAX_CACHED_SEARCHES = 1_024;
+
+	private final ObjectMapper mapper;
+	private volatile Generation generation;
+
+	public SchemaResponseCache(final ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	private static <T> Set<T> orEmpty(final Set<T> values) {
+		return null == values ? Set.of() : values;
+	}
+
+	private static SearchRequest normalise(final SearchRequest searchRequest) {
+		return SearchRequest.builder()
+				.orgIds(orEmpty(searchRequest.getOrgIds()))
+				.tenants(orEmpty(searchRequest.getTenants()))
+				.namespaces(orEmpty(searchRequest.getNamespaces()))
+				.schemaNames(orEmpty(searchRequest.getSchemaNames()))
+				.states(orEmpty(searchRequest.getStates()))
+				.build();
+	}
+
+	private Generation getGeneration(final SchemaRegistry registry) {
+		final var current = generation;
+		if (null != current && current.registry == registry) {
+			return current;
+		}
+		final var refreshed = null == current
+				? new Generation(registry, Map.of(), Map.of())
+				: new Generation(registry, current.fragments, current.searches);
+		generation = refreshed;
+		return refreshed;
+	}
+
+	@SneakyThrows
+	private RawValue encode(final SchemaDetails schemaDetails) {
+		return new RawValue(mapper.writeValueAsString(schemaDetails));
+	}
+
+	/*
+		Schemas without an updatedAt stamp are never taken over, there is nothing telling their versions apart.
+	 */
+	private RawValue getFragment(final Generation current, final SchemaDetails schemaDetails) {
+		return current.fragments.computeIfAbsent(new FragmentKey(schemaDetails.getSchemaKey(), schemaDetails.getUpdatedAt()),
+				fragmentKey -> {
+					final var inherited = fragmentKey.updatedAt() > 0 ? current.inheritedFragments.get(fragmentKey) : null;
+					return null != inherited ? inherited : encode(schemaDetails);
+				});
+	}
+
+	/*
+		The encoded form of a schema taken from registry, to embed in a larger response.
+	 */
+	public RawValue getFragment(final SchemaRegistry registry, final SchemaDetails schemaDetails) {
+		return getFragment(getGeneration(registry), schemaDetails);
+	}
+
+	/*
+		The JSON array registry.search(searchRequest) would serialize to, along with its fingerprint.
+	 */
+	@SneakyThrows
+	public CachedSearch getSearch(final SchemaRegistry registry, final SearchRequest searchRequest) {
+		final var current = getGeneration(registry);
+		final var key = normalise(searchRequest);
+		final var cached = current.searches.get(key);
+		if (null != cached) {
+			return cached;
+		}
+		final var schemas = registry.search(key);
+		final var version = SchemaUtils.getFingerprint(schemas);
+		final var inherited = current.inheritedSearches.get(key);
+		final var search = null != inherited && inherited.getVersion().equals(version)
+				? inherited
+				: new CachedSearch(version, mapper.writeValueAsBytes(schemas.stream()
+						.map(schemaDetails -> getFragment(current, schemaDetails))
+						.toList()));
+		if (current.searches.size() < MAX_CACHED_SEARCHES) {
+			current.searches.putIfAbsent(key, search);
+		}
+		return search;
+	}
+
+	public int getCachedSearchCount() {
+		final var current = generation;
+		return null == current ? 0 : current.searches.size();
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class CachedSearch {
+		private final String version;
+		private final byte[] body;
+	}
+
+	private record FragmentKey(SchemaKey schemaKey, long updatedAt) {
+	}
+
+	@RequiredArgsConstructor
+	private static class Generation {
+		private final SchemaRegistry registry;
+		private final Map<FragmentKey, RawValue> inheritedFragments;
+		private final Map<SearchRequest, CachedSearch> inheritedSearches;
+		private final Map<FragmentKey, RawValue> fragments = new ConcurrentHashMap<>();
+		private final Map<SearchRequest, CachedSearch> searches = new ConcurrentHashMap<>();
+	}
+}
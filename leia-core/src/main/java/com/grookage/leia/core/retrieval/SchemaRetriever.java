@@ -17,28 +17,40 @@
 package com.grookage.leia.core.retrieval;
 
 import com.google.common.base.Preconditions;
+import com.grookage.leia.common.snapshot.SchemaSnapshotStore;
+import com.grookage.leia.core.ingestion.hub.SchemaChangeListener;
 import com.grookage.leia.models.request.LeiaRequestContext;
 import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.SchemaKey;
-import com.grookage.leia.models.utils.CollectionUtils;
+import com.grookage.leia.models.schema.SchemaPage;
+import com.grookage.leia.models.schema.SchemaRegistry;
+import com.grookage.leia.models.schema.engine.SchemaEvent;
+import com.grookage.leia.models.utils.SchemaUtils;
 import com.grookage.leia.repository.SchemaRepository;
 import com.grookage.leia.repository.config.CacheConfig;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @Slf4j
 @Getter
-public class SchemaRetriever {
+public class SchemaRetriever implements SchemaChangeListener {
 
 	private final Supplier<SchemaRepository> repositorySupplier;
 	private final CacheConfig cacheConfig;
+	private RepositorySupplier supplier;
 	private RepositoryRefresher refresher;
+	private SchemaKeyCache keyCache;
+	@Getter(AccessLevel.NONE)
+	private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
 
 	@Builder
 	public SchemaRetriever(final Supplier<SchemaRepository> repositorySupplier,
@@ -48,7 +60,10 @@ public class SchemaRetriever {
 		this.cacheConfig = cacheConfig;
 
 		if (null != cacheConfig && cacheConfig.isEnabled()) {
-			final var supplier = new RepositorySupplier(repositorySupplier);
+			this.supplier = new RepositorySupplier(repositorySupplier,
+					TimeUnit.SECONDS.toMillis(cacheConfig.getFullResyncSeconds()),
+					SchemaSnapshotStore.of(cacheConfig.getSnapshotPath()).orElse(null));
+			supplier.addChangeListener(this::notifyChangeListeners);
 			supplier.start();
 			this.refresher = RepositoryRefresher.builder()
 					.supplier(supplier)
@@ -57,6 +72,9 @@ public class SchemaRetriever {
 					.build();
 			refresher.start();
 		}
+		if (null != cacheConfig && null != cacheConfig.getKeyCache() && cacheConfig.getKeyCache().isEnabled()) {
+			this.keyCache = new SchemaKeyCache(repositorySupplier, cacheConfig.getKeyCache());
+		}
 	}
 
 	private boolean useRepositoryCache(final LeiaRequestContext requestContext) {
@@ -64,38 +82,86 @@ public class SchemaRetriever {
 				&& null != cacheConfig && cacheConfig.isEnabled();
 	}
 
-	public Optional<SchemaDetails> getSchemaDetails(final LeiaRequestContext requestContext,
-	                                                final SchemaKey schemaKey) {
-		if (useRepositoryCache(requestContext)) {
-			return this.refresher.getData().getSchemaDetails(schemaKey);
+	/*
+		Prefers the supplier's registry over the refresher's so that writes applied through onSchemaChange are
+		visible before the next refresh.
+	 */
+	private SchemaRegistry getRegistry() {
+		final var latest = supplier.getLatest();
+		return null != latest ? latest : refresher.getData();
+	}
+
+	/*
+		Called whenever the schemas this retriever serves may have changed: a refresh handed out a new registry, or a
+		committed change was applied to it. Without a registry cache only committed changes seen by this instance are
+		reported.
+	 */
+	public void addChangeListener(final Runnable changeListener) {
+		changeListeners.add(changeListener);
+	}
+
+	private void notifyChangeListeners() {
+		changeListeners.forEach(changeListener -> {
+			try {
+				changeListener.run();
+			} catch (Exception e) {
+				log.error("Schema change listener has failed", e);
+			}
+		});
+	}
+
+	/*
+		The registry a read with this context is served from right now, null when it goes to the repository. A new
+		registry is handed out on every change, so its identity doubles as the version of the schemas it holds.
+	 */
+	public SchemaRegistry getRegistry(final LeiaRequestContext requestContext) {
+		return useRepositoryCache(requestContext) ? getRegistry() : null;
+	}
+
+	@Override
+	public void onSchemaChange(final SchemaEvent event, final SchemaDetails schemaDetails) {
+		if (null != keyCache) {
+			keyCache.put(schemaDetails);
+		}
+		if (null != supplier) {
+			supplier.apply(schemaDetails);
 		} else {
-			return repositorySupplier.get().get(schemaKey);
+			notifyChangeListeners();
 		}
 	}
 
-	private boolean match(SchemaDetails schemaDetails, SearchRequest searchRequest) {
-		final var schemaKey = schemaDetails.getSchemaKey();
-		final var orgIdMatch = CollectionUtils.isNullOrEmpty(searchRequest.getOrgIds()) ||
-				searchRequest.getOrgIds().contains(schemaKey.getOrgId());
-		final var namespaceMatch = CollectionUtils.isNullOrEmpty(searchRequest.getNamespaces()) ||
-				searchRequest.getNamespaces().contains(schemaKey.getNamespace());
-		final var tenantIdMatch = CollectionUtils.isNullOrEmpty(searchRequest.getTenants()) ||
-				searchRequest.getTenants().contains(schemaKey.getTenantId());
-		final var schemaNameMatch = CollectionUtils.isNullOrEmpty(searchRequest.getSchemaNames()) ||
-				searchRequest.getSchemaNames().contains(schemaKey.getSchemaName());
-		final var schemaStateMatch = CollectionUtils.isNullOrEmpty(searchRequest.getStates()) ||
-				searchRequest.getStates().contains(schemaDetails.getSchemaState());
-		return orgIdMatch && namespaceMatch && tenantIdMatch && schemaNameMatch && schemaStateMatch;
+	public Optional<SchemaDetails> getSchemaDetails(final LeiaRequestContext requestContext,
+	                                                final SchemaKey schemaKey) {
+		if (useRepositoryCache(requestContext)) {
+			return getRegistry().getSchemaDetails(schemaKey);
+		}
+		if (null != keyCache) {
+			/*
+				ignoreCache still gets a fresh read, but concurrent ones for the same key are coalesced.
+			 */
+			return null != requestContext && requestContext.isIgnoreCache()
+					? keyCache.load(schemaKey)
+					: keyCache.get(schemaKey);
+		}
+		return repositorySupplier.get().get(schemaKey);
 	}
 
 	public List<SchemaDetails> getSchemaDetails(final LeiaRequestContext requestContext,
 	                                            final SearchRequest searchRequest) {
 		if (useRepositoryCache(requestContext)) {
-			return refresher.getData().getSchemaDetails().stream()
-					.filter(each -> match(each, searchRequest))
-					.toList();
+			return getRegistry().search(searchRequest);
 		} else {
 			return repositorySupplier.get().getSchemas(searchRequest);
 		}
 	}
+
+	public SchemaPage getSchemaPage(final LeiaRequestContext requestContext,
+	                                final SearchRequest searchRequest,
+	                                final String cursor,
+	                                final int limit) {
+		if (useRepositoryCache(requestContext)) {
+			return SchemaUtils.getSortedPage(getRegistry().searchSorted(searchRequest), cursor, limit);
+		}
+		return repositorySupplier.get().getSchemaPage(searchRequest, cursor, limit);
+	}
 }
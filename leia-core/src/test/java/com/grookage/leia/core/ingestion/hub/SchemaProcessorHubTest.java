@@ -16,12 +16,17 @@
 
 package com.grookage.leia.core.ingestion.hub;
 
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.engine.SchemaEvent;
 import com.grookage.leia.repository.SchemaRepository;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+
 class SchemaProcessorHubTest {
 
 	@Test
@@ -35,4 +40,22 @@ class SchemaProcessorHubTest {
 		Assertions.assertThrows(NullPointerException.class, () -> SchemaProcessorHub.of()
 				.build());
 	}
+
+	@Test
+	@SneakyThrows
+	void testSchemaChangeListeners() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var events = new ArrayList<SchemaEvent>();
+		final var hub = SchemaProcessorHub.of()
+				.withRepositoryResolver(() -> Mockito.mock(SchemaRepository.class))
+				.withSchemaChangeListener((event, details) -> {
+					throw new IllegalStateException("Listener failure");
+				})
+				.withSchemaChangeListener((event, details) -> events.add(event))
+				.build();
+		hub.notifyListeners(SchemaEvent.APPROVE_SCHEMA, schemaDetails);
+		Assertions.assertEquals(1, events.size());
+		Assertions.assertEquals(SchemaEvent.APPROVE_SCHEMA, events.get(0));
+	}
 }
@@ -16,6 +16,7 @@
 
 package com.grookage.leia.core.retrieval;
 
+import com.grookage.leia.common.snapshot.SchemaSnapshotStore;
 import com.grookage.leia.models.ResourceHelper;
 import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
@@ -24,9 +25,16 @@ import com.grookage.leia.repository.SchemaRepository;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class RepositorySupplierTest {
 
@@ -51,4 +59,158 @@ class RepositorySupplierTest {
 				.build()).orElse(null);
 		Assertions.assertNotNull(schema);
 	}
+
+	@Test
+	@SneakyThrows
+	void testDeltaRefreshAppliesChangesToACopy() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		schemaDetails.setUpdatedAt(1000L);
+		final var repository = Mockito.mock(SchemaRepository.class);
+		final var supplier = new RepositorySupplier(() -> repository, Long.MAX_VALUE);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(schemaDetails));
+		final var registry = supplier.get();
+		Assertions.assertEquals(1, registry.getSchemas().size());
+
+		Mockito.when(repository.getSchemasUpdatedAfter(Mockito.anyLong()))
+				.thenReturn(List.of(schemaDetails));
+		Assertions.assertSame(registry, supplier.get());
+
+		final var changed = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		changed.getSchemaKey().setVersion("V5678");
+		changed.setUpdatedAt(2000L);
+		Mockito.when(repository.getSchemasUpdatedAfter(Mockito.anyLong()))
+				.thenReturn(List.of(changed));
+		final var refreshed = supplier.get();
+		Assertions.assertNotSame(registry, refreshed);
+		Assertions.assertEquals(1, registry.getSchemas().size());
+		Assertions.assertEquals(2, refreshed.getSchemas().size());
+		Assertions.assertTrue(refreshed.getSchemaDetails(changed.getSchemaKey()).isPresent());
+		Mockito.verify(repository, Mockito.times(1)).getSchemas(SearchRequest.builder().build());
+	}
+
+	@Test
+	@SneakyThrows
+	void testSnapshotIsServedUntilFirstRefresh(@TempDir Path tempDir) {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var snapshotStore = new SchemaSnapshotStore(tempDir.resolve("registry.snapshot"));
+		final var repository = Mockito.mock(SchemaRepository.class);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(schemaDetails));
+		new RepositorySupplier(() -> repository, 0, snapshotStore).get();
+		Assertions.assertTrue(snapshotStore.load().isPresent());
+
+		final var restarted = Mockito.mock(SchemaRepository.class);
+		Mockito.when(restarted.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of());
+		final var supplier = new RepositorySupplier(() -> restarted, 0, snapshotStore);
+		Assertions.assertEquals(1, supplier.get().getSchemas().size());
+		Mockito.verify(restarted, Mockito.never()).getSchemas(Mockito.any());
+		Assertions.assertTrue(supplier.get().getSchemas().isEmpty());
+		Assertions.assertTrue(snapshotStore.load().orElseThrow().getSchemas().isEmpty());
+	}
+
+	@Test
+	@SneakyThrows
+	void testUnchangedReloadDoesNotSaveSnapshot(@TempDir Path tempDir) {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var snapshotStore = Mockito.spy(new SchemaSnapshotStore(tempDir.resolve("registry.snapshot")));
+		final var repository = Mockito.mock(SchemaRepository.class);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(schemaDetails));
+		final var supplier = new RepositorySupplier(() -> repository, 0, snapshotStore);
+		final var registry = supplier.get();
+		Assertions.assertSame(registry, supplier.get());
+		Mockito.verify(snapshotStore, Mockito.times(1)).save(Mockito.any());
+
+		final var changed = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		changed.setUpdatedAt(schemaDetails.getUpdatedAt() + 1);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(changed));
+		Assertions.assertNotSame(registry, supplier.get());
+		Mockito.verify(snapshotStore, Mockito.times(2)).save(Mockito.any());
+	}
+
+	@Test
+	@SneakyThrows
+	void testApplyDoesNotWaitForReload() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		schemaDetails.setUpdatedAt(1000L);
+		final var repository = Mockito.mock(SchemaRepository.class);
+		final var supplier = new RepositorySupplier(() -> repository, 0);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(schemaDetails));
+		supplier.get();
+
+		final var fetching = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build())).thenAnswer(invocation -> {
+			fetching.countDown();
+			release.await();
+			return List.of(schemaDetails);
+		});
+		final var executor = Executors.newSingleThreadExecutor();
+		try {
+			final var reload = executor.submit(supplier::get);
+			Assertions.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+			final var applied = ResourceHelper
+					.getResource("schema/schemaDetails.json", SchemaDetails.class);
+			applied.getSchemaKey().setVersion("V5678");
+			applied.setUpdatedAt(2000L);
+			CompletableFuture.runAsync(() -> supplier.apply(applied)).get(5, TimeUnit.SECONDS);
+			Assertions.assertTrue(supplier.getLatest().getSchemaDetails(applied.getSchemaKey()).isPresent());
+
+			release.countDown();
+			final var reloaded = reload.get(5, TimeUnit.SECONDS);
+			Assertions.assertTrue(reloaded.getSchemaDetails(applied.getSchemaKey()).isPresent());
+			Assertions.assertEquals(2, reloaded.getSchemas().size());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testAppliedSchemasAreFoldedIntoOneCopy() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		schemaDetails.setUpdatedAt(1000L);
+		final var repository = Mockito.mock(SchemaRepository.class);
+		final var supplier = new RepositorySupplier(() -> repository, 0);
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of(schemaDetails));
+		final var loaded = supplier.get();
+
+		final var changes = new AtomicInteger();
+		supplier.addChangeListener(changes::incrementAndGet);
+		for (var i = 0; i < 3; i++) {
+			final var applied = ResourceHelper
+					.getResource("schema/schemaDetails.json", SchemaDetails.class);
+			applied.getSchemaKey().setVersion("V" + i);
+			applied.setUpdatedAt(2000L);
+			supplier.apply(applied);
+		}
+		Assertions.assertEquals(3, changes.get());
+		Assertions.assertEquals(1, loaded.getSchemas().size());
+
+		final var latest = supplier.getLatest();
+		Assertions.assertNotSame(loaded, latest);
+		Assertions.assertEquals(4, latest.getSchemas().size());
+		Assertions.assertSame(latest, supplier.getLatest());
+
+		final var stale = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		stale.getSchemaKey().setVersion("V0");
+		stale.setUpdatedAt(500L);
+		supplier.apply(stale);
+		Assertions.assertEquals(3, changes.get());
+		Assertions.assertSame(latest, supplier.getLatest());
+	}
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.engine.SchemaEvent;
+import com.grookage.leia.models.utils.SchemaUtils;
+import com.grookage.leia.repository.SchemaRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class SchemaChangeWatcherTest {
+
+	@Test
+	@SneakyThrows
+	void testWatchCompletesOnChange() {
+		final var repository = Mockito.mock(SchemaRepository.class);
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var searchRequest = SearchRequest.builder().build();
+		Mockito.when(repository.getSchemas(searchRequest)).thenReturn(List.of());
+		final var retriever = new SchemaRetriever(() -> repository, null);
+		final var watcher = new SchemaChangeWatcher(retriever);
+
+		final var knownVersion = SchemaUtils.getFingerprint(List.of());
+		final var unknown = watcher.watch(searchRequest, null, 10_000).get(1, TimeUnit.SECONDS);
+		Assertions.assertTrue(unknown.isModified());
+		Assertions.assertEquals(knownVersion, unknown.getVersion());
+
+		final var pending = watcher.watch(searchRequest, knownVersion, 10_000);
+		Assertions.assertFalse(pending.isDone());
+		Assertions.assertEquals(1, watcher.getWatchCount());
+
+		Mockito.when(repository.getSchemas(searchRequest)).thenReturn(List.of(schemaDetails));
+		retriever.onSchemaChange(SchemaEvent.APPROVE_SCHEMA, schemaDetails);
+		final var changed = pending.get(5, TimeUnit.SECONDS);
+		Assertions.assertTrue(changed.isModified());
+		Assertions.assertEquals(1, changed.getSchemas().size());
+		Assertions.assertNotEquals(knownVersion, changed.getVersion());
+		Assertions.assertEquals(0, watcher.getWatchCount());
+		watcher.close();
+	}
+
+	@Test
+	@SneakyThrows
+	void testWatchTimesOutAsNotModified() {
+		final var repository = Mockito.mock(SchemaRepository.class);
+		final var searchRequest = SearchRequest.builder().build();
+		Mockito.when(repository.getSchemas(searchRequest)).thenReturn(List.of());
+		final var watcher = new SchemaChangeWatcher(new SchemaRetriever(() -> repository, null));
+		final var knownVersion = SchemaUtils.getFingerprint(List.of());
+
+		final var result = watcher.watch(searchRequest, knownVersion, 100).get(5, TimeUnit.SECONDS);
+		Assertions.assertFalse(result.isModified());
+		Assertions.assertEquals(knownVersion, result.getVersion());
+		Assertions.assertNull(result.getSchemas());
+		Assertions.assertEquals(0, watcher.getWatchCount());
+
+		final var parked = watcher.watch(searchRequest, knownVersion, 10_000);
+		watcher.close();
+		Assertions.assertFalse(parked.get(1, TimeUnit.SECONDS).isModified());
+	}
+}
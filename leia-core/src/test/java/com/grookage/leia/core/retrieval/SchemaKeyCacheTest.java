@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.repository.SchemaRepository;
+import com.grookage.leia.repository.config.KeyCacheConfig;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class SchemaKeyCacheTest {
+
+	private static KeyCacheConfig getConfig(final boolean cacheMissingKeys) {
+		return KeyCacheConfig.builder()
+				.enabled(true)
+				.cacheMissingKeys(cacheMissingKeys)
+				.build();
+	}
+
+	@Test
+	@SneakyThrows
+	void testReadThroughAndNegativeCaching() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var schemaKey = schemaDetails.getSchemaKey();
+		final var repository = Mockito.mock(SchemaRepository.class);
+		Mockito.when(repository.get(schemaKey)).thenReturn(Optional.empty());
+		final var keyCache = new SchemaKeyCache(() -> repository, getConfig(true));
+		Assertions.assertTrue(keyCache.get(schemaKey).isEmpty());
+		Assertions.assertTrue(keyCache.get(schemaKey).isEmpty());
+		Mockito.verify(repository, Mockito.times(1)).get(schemaKey);
+
+		Mockito.when(repository.get(schemaKey)).thenReturn(Optional.of(schemaDetails));
+		Assertions.assertTrue(keyCache.load(schemaKey).isPresent());
+		Assertions.assertTrue(keyCache.get(schemaKey).isPresent());
+		Mockito.verify(repository, Mockito.times(2)).get(schemaKey);
+		Assertions.assertEquals(1, keyCache.getSize());
+	}
+
+	@Test
+	@SneakyThrows
+	void testMissingKeysAreNotCachedWhenDisabled() {
+		final var schemaKey = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class)
+				.getSchemaKey();
+		final var repository = Mockito.mock(SchemaRepository.class);
+		Mockito.when(repository.get(schemaKey)).thenReturn(Optional.empty());
+		final var keyCache = new SchemaKeyCache(() -> repository, getConfig(false));
+		Assertions.assertTrue(keyCache.get(schemaKey).isEmpty());
+		Assertions.assertTrue(keyCache.get(schemaKey).isEmpty());
+		Mockito.verify(repository, Mockito.times(2)).get(schemaKey);
+	}
+
+	@Test
+	@SneakyThrows
+	void testConcurrentLoadsAreCoalesced() {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var schemaKey = schemaDetails.getSchemaKey();
+		final var reads = new AtomicInteger();
+		final var release = new CountDownLatch(1);
+		final var repository = Mockito.mock(SchemaRepository.class);
+		Mockito.when(repository.get(schemaKey)).thenAnswer(invocation -> {
+			reads.incrementAndGet();
+			release.await(5, TimeUnit.SECONDS);
+			return Optional.of(schemaDetails);
+		});
+		final var keyCache = new SchemaKeyCache(() -> repository, getConfig(true));
+		final var executor = Executors.newFixedThreadPool(8);
+		final var futures = IntStream.range(0, 8)
+				.mapToObj(i -> CompletableFuture.supplyAsync(() -> keyCache.load(schemaKey), executor))
+				.toList();
+		Thread.sleep(200);
+		release.countDown();
+		futures.forEach(future -> Assertions.assertTrue(future.join().isPresent()));
+		executor.shutdown();
+		Assertions.assertEquals(1, reads.get());
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.core.retrieval;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.GenericResponse;
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.SchemaDetails;
+import com.grookage.leia.models.schema.SchemaRegistry;
+import com.grookage.leia.models.utils.MapperUtils;
+import com.grookage.leia.models.utils.SchemaUtils;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+
+class SchemaResponseCacheTest {
+
+	@Test
+	@SneakyThrows
+	void testResponsesAreCachedPerRegistry() {
+		final var mapper = MapperUtils.mapper();
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var registry = new SchemaRegistry();
+		registry.add(schemaDetails);
+		final var responseCache = new SchemaResponseCache(mapper);
+
+		final var searchRequest = SearchRequest.builder()
+				.namespaces(Set.of(schemaDetails.getSchemaKey().getNamespace()))
+				.build();
+		final var cachedSearch = responseCache.getSearch(registry, searchRequest);
+		Assertions.assertEquals(SchemaUtils.getFingerprint(List.of(schemaDetails)), cachedSearch.getVersion());
+		Assertions.assertEquals(mapper.readTree(mapper.writeValueAsBytes(List.of(schemaDetails))),
+				mapper.readTree(cachedSearch.getBody()));
+		final List<SchemaDetails> decoded = mapper.readValue(cachedSearch.getBody(), new TypeReference<>() {
+		});
+		Assertions.assertEquals(1, decoded.size());
+		Assertions.assertEquals(schemaDetails.getReferenceId(), decoded.get(0).getReferenceId());
+		Assertions.assertSame(cachedSearch, responseCache.getSearch(registry, searchRequest));
+		Assertions.assertEquals(1, responseCache.getCachedSearchCount());
+
+		final var wrapped = mapper.writeValueAsBytes(GenericResponse.builder()
+				.success(true)
+				.data(responseCache.getFragment(registry, schemaDetails))
+				.build());
+		Assertions.assertEquals(mapper.readTree(mapper.writeValueAsBytes(GenericResponse.builder()
+						.success(true)
+						.data(schemaDetails)
+						.build())),
+				mapper.readTree(wrapped));
+
+		final var refreshed = new SchemaRegistry();
+		registry.getSchemaDetails().forEach(refreshed::add);
+		final var refreshedSearch = responseCache.getSearch(refreshed, searchRequest);
+		Assertions.assertSame(cachedSearch, refreshedSearch);
+		final var emptySearch = responseCache.getSearch(refreshed, SearchRequest.builder()
+				.namespaces(Set.of("unknownNamespace"))
+				.build());
+		Assertions.assertEquals("[]", new String(emptySearch.getBody()));
+		Assertions.assertEquals(2, responseCache.getCachedSearchCount());
+	}
+
+	@Test
+	@SneakyThrows
+	void testUnchangedSchemasSurviveANewRegistry() {
+		final var mapper = Mockito.spy(MapperUtils.mapper());
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		schemaDetails.setUpdatedAt(1000L);
+		final var registry = new SchemaRegistry();
+		registry.add(schemaDetails);
+		final var responseCache = new SchemaResponseCache(mapper);
+		final var fragment = responseCache.getFragment(registry, schemaDetails);
+
+		final var changed = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		changed.getSchemaKey().setVersion("V5678");
+		changed.setUpdatedAt(2000L);
+		final var refreshed = new SchemaRegistry();
+		registry.getSchemaDetails().forEach(refreshed::add);
+		refreshed.add(changed);
+		Assertions.assertSame(fragment, responseCache.getFragment(refreshed, schemaDetails));
+		Mockito.verify(mapper, Mockito.times(1)).writeValueAsString(Mockito.any());
+
+		final var search = responseCache.getSearch(refreshed, SearchRequest.builder().build());
+		final List<SchemaDetails> decoded = mapper.readValue(search.getBody(), new TypeReference<>() {
+		});
+		Assertions.assertEquals(2, decoded.size());
+		Mockito.verify(mapper, Mockito.times(2)).writeValueAsString(Mockito.any());
+
+		final var updated = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		updated.setUpdatedAt(3000L);
+		final var updatedRegistry = new SchemaRegistry();
+		refreshed.getSchemaDetails().forEach(updatedRegistry::add);
+		updatedRegistry.put(updated);
+		Assertions.assertNotSame(fragment, responseCache.getFragment(updatedRegistry, updated));
+		Assertions.assertNotEquals(search.getVersion(),
+				responseCache.getSearch(updatedRegistry, SearchRequest.builder().build()).getVersion());
+	}
+}
@@ -21,6 +21,7 @@ import com.grookage.leia.models.request.LeiaRequestContext;
 import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.engine.SchemaEvent;
 import com.grookage.leia.models.schema.engine.SchemaState;
 import com.grookage.leia.models.utils.LeiaUtils;
 import com.grookage.leia.repository.SchemaRepository;
@@ -197,4 +198,25 @@ class SchemaRetrieverTest {
 		schemas = retriever.getSchemaDetails(requestContext, searchRequest);
 		Assertions.assertFalse(schemas.isEmpty());
 	}
+
+	@Test
+	@SneakyThrows
+	void testSchemaChangeIsVisibleBeforeRefresh() {
+		Mockito.when(repository.getSchemas(SearchRequest.builder().build()))
+				.thenReturn(List.of());
+		final var retriever = new SchemaRetriever(() -> repository, CacheConfig.builder()
+				.enabled(true)
+				.refreshCacheSeconds(60)
+				.build());
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		final var requestContext = LeiaRequestContext.builder().ignoreCache(false).build();
+		Assertions.assertTrue(retriever.getSchemaDetails(requestContext, schemaDetails.getSchemaKey()).isEmpty());
+		retriever.onSchemaChange(SchemaEvent.CREATE_SCHEMA, schemaDetails);
+		Assertions.assertTrue(retriever.getSchemaDetails(requestContext, schemaDetails.getSchemaKey()).isPresent());
+		Assertions.assertEquals(1, retriever.getSchemaDetails(requestContext, SearchRequest.builder()
+				.schemaNames(Set.of(schemaDetails.getSchemaKey().getSchemaName()))
+				.build()).size());
+		Mockito.verify(repository, Mockito.never()).get(Mockito.any());
+	}
 }
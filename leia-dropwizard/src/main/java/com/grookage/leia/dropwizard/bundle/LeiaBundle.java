@@ -20,11 +20,14 @@ import com.google.common.base.Preconditions;
 import com.grookage.leia.common.validation.NoOpLeiaMessageValidator;
 import com.grookage.leia.core.ingestion.SchemaIngestor;
 import com.grookage.leia.core.ingestion.hub.SchemaProcessorHub;
+import com.grookage.leia.core.retrieval.SchemaChangeWatcher;
+import com.grookage.leia.core.retrieval.SchemaResponseCache;
 import com.grookage.leia.core.retrieval.SchemaRetriever;
 import com.grookage.leia.dropwizard.bundle.health.LeiaHealthCheck;
 import com.grookage.leia.dropwizard.bundle.lifecycle.Lifecycle;
 import com.grookage.leia.dropwizard.bundle.mapper.LeiaExceptionMapper;
 import com.grookage.leia.dropwizard.bundle.permissions.PermissionValidator;
+import com.grookage.leia.dropwizard.bundle.provider.SmileMessageBodyWriter;
 import com.grookage.leia.dropwizard.bundle.resolvers.SchemaUpdaterResolver;
 import com.grookage.leia.dropwizard.bundle.resources.IngestionResource;
 import com.grookage.leia.dropwizard.bundle.resources.SchemaResource;
@@ -50,6 +53,7 @@ public abstract class LeiaBundle<T extends Configuration, U extends SchemaUpdate
 	private SchemaIngestor<U> schemaIngestor;
 	private Supplier<SchemaRepository> repositorySupplier;
 	private SchemaRetriever schemaRetriever;
+	private SchemaChangeWatcher schemaChangeWatcher;
 
 	protected abstract Supplier<SchemaUpdaterResolver<U>> userResolver(T configuration);
 
@@ -67,6 +71,13 @@ public abstract class LeiaBundle<T extends Configuration, U extends SchemaUpdate
 		return List.of();
 	}
 
+	/*
+		Threads that build and write schema search responses off Jersey's request threads.
+	 */
+	protected int getResponseThreads(T configuration) {
+		return 8;
+	}
+
 	@Override
 	public void run(T configuration, Environment environment) {
 		final var userResolver = userResolver(configuration);
@@ -77,14 +88,16 @@ public abstract class LeiaBundle<T extends Configuration, U extends SchemaUpdate
 		this.repositorySupplier = getRepositorySupplier(configuration);
 		Preconditions.checkNotNull(repositorySupplier, "Schema Repository Supplier can't be null");
 
+		final var cacheConfig = getCacheConfig(configuration);
+		this.schemaRetriever = new SchemaRetriever(repositorySupplier, cacheConfig);
 		final var schemaProcessorHub = SchemaProcessorHub.of()
 				.withRepositoryResolver(repositorySupplier)
+				.withSchemaChangeListener(schemaRetriever)
 				.build();
 		this.schemaIngestor = new SchemaIngestor<U>()
 				.withProcessorHub(schemaProcessorHub)
 				.build();
-		final var cacheConfig = getCacheConfig(configuration);
-		this.schemaRetriever = new SchemaRetriever(repositorySupplier, cacheConfig);
+		this.schemaChangeWatcher = new SchemaChangeWatcher(schemaRetriever);
 		final var messageValidator = new NoOpLeiaMessageValidator();
 		withLifecycleManagers(configuration)
 				.forEach(lifecycle -> environment.lifecycle().manage(new Managed() {
@@ -98,11 +111,30 @@ public abstract class LeiaBundle<T extends Configuration, U extends SchemaUpdate
 						lifecycle.stop();
 					}
 				}));
+		environment.lifecycle().manage(new Managed() {
+			@Override
+			public void start() {
+				//NOOP. The watcher is ready once built.
+			}
+
+			@Override
+			public void stop() {
+				schemaChangeWatcher.close();
+			}
+		});
+		final var responseThreads = getResponseThreads(configuration);
+		final var responseExecutor = environment.lifecycle()
+				.executorService("leia-schema-responses-%d")
+				.minThreads(responseThreads)
+				.maxThreads(responseThreads)
+				.build();
 		withHealthChecks(configuration)
 				.forEach(leiaHealthCheck -> environment.healthChecks().register(leiaHealthCheck.getName(), leiaHealthCheck));
 		environment.jersey().register(new IngestionResource<>(schemaIngestor, userResolver, permissionResolver));
-		environment.jersey().register(new SchemaResource(schemaRetriever, messageValidator));
+		environment.jersey().register(new SchemaResource(schemaRetriever, messageValidator, schemaChangeWatcher,
+				responseExecutor, environment.getObjectMapper(), new SchemaResponseCache(environment.getObjectMapper())));
 		environment.jersey().register(new LeiaExceptionMapper());
+		environment.jersey().register(new SmileMessageBodyWriter(environment.getObjectMapper()));
 	}
 
 	@Override
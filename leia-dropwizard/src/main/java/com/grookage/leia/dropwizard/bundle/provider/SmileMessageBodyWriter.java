@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.dropwizard.bundle.provider;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.grookage.leia.models.utils.MapperUtils;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/*
+	Writes responses as Smile for callers that ask for it. Property names and short string values are shared within
+	a document, so the attribute type discriminators and the keys repeated across schemas and histories are written
+	once and back-referenced after that. Configured off the application's JSON mapper, so both formats carry the same
+	fields.
+ */
+@Provider
+@Produces(MapperUtils.SMILE_MEDIA_TYPE)
+public class SmileMessageBodyWriter implements MessageBodyWriter<Object> {
+
+	private final ObjectWriter smileWriter;
+
+	public SmileMessageBodyWriter(final ObjectMapper mapper) {
+		this.smileWriter = mapper.copyWith(SmileFactory.builder()
+						.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+						.build())
+				.writer()
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return MediaType.valueOf(MapperUtils.SMILE_MEDIA_TYPE).isCompatible(mediaType);
+	}
+
+	@Override
+	public void writeTo(Object entity,
+	                    Class<?> type,
+	                    Type genericType,
+	                    Annotation[] annotations,
+	                    MediaType mediaType,
+	                    MultivaluedMap<String, Object> httpHeaders,
+	                    OutputStream entityStream) throws IOException {
+		smileWriter.writeValue(entityStream, entity);
+	}
+}
@@ -18,9 +18,15 @@ package com.grookage.leia.dropwizard.bundle.resources;
 
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.base.Strings;
 import com.grookage.leia.common.validation.LeiaMessageValidator;
 import com.grookage.leia.common.violation.LeiaMessageViolation;
 import com.grookage.leia.core.exception.LeiaSchemaErrorCode;
+import com.grookage.leia.core.retrieval.SchemaChangeWatcher;
+import com.grookage.leia.core.retrieval.SchemaResponseCache;
 import com.grookage.leia.core.retrieval.SchemaRetriever;
 import com.grookage.leia.models.GenericResponse;
 import com.grookage.leia.models.exception.LeiaException;
@@ -29,31 +35,70 @@ import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.request.ValidateSchemaRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.SchemaRegistry;
+import com.grookage.leia.models.schema.VersionedSchemas;
+import com.grookage.leia.models.utils.MapperUtils;
+import com.grookage.leia.models.utils.SchemaUtils;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.security.PermitAll;
 import javax.inject.Singleton;
 import javax.validation.Valid;
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 @Singleton
 @Getter
 @Setter
 @Path("/v1/schema")
 @Slf4j
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, SchemaResource.SMILE_MEDIA_TYPE})
 @Consumes(MediaType.APPLICATION_JSON)
 @AllArgsConstructor
 @PermitAll
 public class SchemaResource {
 
+	/*
+		Smile is served only to callers whose Accept prefers it, JSON stays the answer for everyone else.
+	 */
+	static final String SMILE_MEDIA_TYPE = MapperUtils.SMILE_MEDIA_TYPE + ";qs=0.5";
+
+	/*
+		Kept below Jetty's default 30 second idle timeout, so a parked watch is answered before the connection is
+		dropped underneath it.
+	 */
+	private static final long MAX_WATCH_TIMEOUT_MS = 25_000;
+	private static final int MAX_PAGE_SIZE = 10_000;
+	private static final int STREAM_PAGE_SIZE = 1_000;
+
 	private final SchemaRetriever schemaRetriever;
 	private final LeiaMessageValidator messageValidator;
+	private final SchemaChangeWatcher schemaChangeWatcher;
+	/*
+		Builds and writes the schema search responses, so large ones don't hold on to Jersey's request threads.
+	 */
+	private final ExecutorService responseExecutor;
+	private final ObjectMapper mapper;
+	/*
+		Pre-serialized JSON for reads served from the registry. Smile callers skip it, Smile documents can't be
+		stitched together from fragments.
+	 */
+	private final SchemaResponseCache responseCache;
 
 	private LeiaRequestContext toRequestContext(final boolean ignoreCache) {
 		return LeiaRequestContext.builder()
@@ -61,25 +106,203 @@ public class SchemaResource {
 				.build();
 	}
 
+	private static boolean acceptsSmile(final String accept) {
+		return null != accept && accept.contains(MapperUtils.SMILE_MEDIA_TYPE);
+	}
+
+	/*
+		The registry to answer from with pre-serialized JSON, null when the request has to go the regular way.
+	 */
+	private SchemaRegistry getCachedRegistry(final LeiaRequestContext requestContext, final String accept) {
+		return acceptsSmile(accept) ? null : schemaRetriever.getRegistry(requestContext);
+	}
+
 	@POST
 	@Timed
 	@ExceptionMetered
 	@Path("/details")
-	public GenericResponse<SchemaDetails> getSchemaDetails(@QueryParam("ignoreCache") boolean ignoreCache,
-	                                                       @Valid final SchemaKey schemaKey) {
-		return GenericResponse.<SchemaDetails>builder()
-				.success(true)
-				.data(schemaRetriever.getSchemaDetails(toRequestContext(ignoreCache), schemaKey).orElse(null))
+	@SneakyThrows
+	public Response getSchemaDetails(@QueryParam("ignoreCache") boolean ignoreCache,
+	                                 @HeaderParam(HttpHeaders.ACCEPT) String accept,
+	                                 @Valid final SchemaKey schemaKey) {
+		final var requestContext = toRequestContext(ignoreCache);
+		final var registry = getCachedRegistry(requestContext, accept);
+		final var cachedDetails = null != registry ? registry.getSchemaDetails(schemaKey).orElse(null) : null;
+		if (null != cachedDetails) {
+			return Response.ok(mapper.writeValueAsBytes(GenericResponse.<RawValue>builder()
+							.success(true)
+							.data(responseCache.getFragment(registry, cachedDetails))
+							.build()), MediaType.APPLICATION_JSON_TYPE)
+					.build();
+		}
+		return Response.ok(GenericResponse.<SchemaDetails>builder()
+						.success(true)
+						.data(schemaRetriever.getSchemaDetails(requestContext, schemaKey).orElse(null))
+						.build())
 				.build();
 	}
 
+	/*
+		If-None-Match may carry a list of tags, weak or strong. A match on any of them, or on *, counts.
+	 */
+	private static boolean matches(final String ifNoneMatch, final String version) {
+		if (Strings.isNullOrEmpty(ifNoneMatch)) {
+			return false;
+		}
+		return Arrays.stream(ifNoneMatch.split(","))
+				.map(String::trim)
+				.map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+				.map(tag -> tag.replace("\"", ""))
+				.anyMatch(tag -> tag.equals("*") || tag.equals(version));
+	}
+
+	private void respond(final AsyncResponse asyncResponse, final Supplier<Response> responseSupplier) {
+		CompletableFuture.supplyAsync(responseSupplier, responseExecutor)
+				.whenComplete((response, throwable) -> {
+					if (null != throwable) {
+						asyncResponse.resume(null != throwable.getCause() ? throwable.getCause() : throwable);
+						return;
+					}
+					asyncResponse.resume(response);
+				});
+	}
+
+	/*
+		Writes the search result as a JSON array, a page at a time, instead of building the whole list first.
+	 */
+	private StreamingOutput streamSchemaDetails(final LeiaRequestContext requestContext,
+	                                            final SearchRequest searchRequest) {
+		return output -> {
+			final var generator = mapper.getFactory().createGenerator(output)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartArray();
+			String cursor = null;
+			do {
+				final var page = schemaRetriever.getSchemaPage(requestContext, searchRequest, cursor, STREAM_PAGE_SIZE);
+				for (final var schemaDetails : page.getSchemas()) {
+					mapper.writeValue(generator, schemaDetails);
+				}
+				generator.flush();
+				cursor = page.getNextCursor();
+			} while (null != cursor);
+			generator.writeEndArray();
+			generator.close();
+		};
+	}
+
+	private static String toVersion(final String ifNoneMatch) {
+		if (Strings.isNullOrEmpty(ifNoneMatch)) {
+			return null;
+		}
+		final var tag = ifNoneMatch.split(",")[0].trim();
+		return (tag.startsWith("W/") ? tag.substring(2) : tag).replace("\"", "");
+	}
+
+	/*
+		With stream, the schemas are written out as they are read and the response carries no ETag.
+	 */
 	@POST
 	@Timed
 	@ExceptionMetered
 	@Path("/details/all")
-	public List<SchemaDetails> getAllSchemaDetails(@QueryParam("ignoreCache") boolean ignoreCache,
-	                                               @Valid final SearchRequest searchRequest) {
-		return schemaRetriever.getSchemaDetails(toRequestContext(ignoreCache), searchRequest);
+	public void getAllSchemaDetails(@QueryParam("ignoreCache") boolean ignoreCache,
+	                                @QueryParam("stream") boolean stream,
+	                                @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+	                                @HeaderParam(HttpHeaders.ACCEPT) String accept,
+	                                @Valid final SearchRequest searchRequest,
+	                                @Suspended final AsyncResponse asyncResponse) {
+		respond(asyncResponse, () -> {
+			final var requestContext = toRequestContext(ignoreCache);
+			if (stream) {
+				return Response.ok(streamSchemaDetails(requestContext, searchRequest),
+						MediaType.APPLICATION_JSON_TYPE).build();
+			}
+			final var registry = getCachedRegistry(requestContext, accept);
+			if (null != registry) {
+				final var cachedSearch = responseCache.getSearch(registry, searchRequest);
+				final var entityTag = new EntityTag(cachedSearch.getVersion());
+				if (matches(ifNoneMatch, entityTag.getValue())) {
+					return Response.notModified(entityTag).build();
+				}
+				return Response.ok(cachedSearch.getBody(), MediaType.APPLICATION_JSON_TYPE).tag(entityTag).build();
+			}
+			final var schemas = schemaRetriever.getSchemaDetails(requestContext, searchRequest);
+			final var entityTag = new EntityTag(SchemaUtils.getFingerprint(schemas));
+			if (matches(ifNoneMatch, entityTag.getValue())) {
+				return Response.notModified(entityTag).build();
+			}
+			return Response.ok(schemas).tag(entityTag).build();
+		});
+	}
+
+	/*
+		Cursor paging over the same search, ordered by referenceId. Pass the nextCursor of a page to get the one after
+		it.
+	 */
+	@POST
+	@Timed
+	@ExceptionMetered
+	@Path("/details/page")
+	public void getSchemaPage(@QueryParam("ignoreCache") boolean ignoreCache,
+	                          @QueryParam("cursor") String cursor,
+	                          @QueryParam("limit") @DefaultValue("1000") int limit,
+	                          @Valid final SearchRequest searchRequest,
+	                          @Suspended final AsyncResponse asyncResponse) {
+		final var boundedLimit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		respond(asyncResponse, () -> {
+			final var schemaPage = schemaRetriever.getSchemaPage(toRequestContext(ignoreCache), searchRequest,
+					Strings.emptyToNull(cursor), boundedLimit);
+			return Response.ok(schemaPage).build();
+		});
+	}
+
+	/*
+		Same search as /details/all, with the version in the body so clients that can't see response headers can
+		still poll conditionally.
+	 */
+	@POST
+	@Timed
+	@ExceptionMetered
+	@Path("/details/versioned")
+	public Response getVersionedSchemaDetails(@QueryParam("ignoreCache") boolean ignoreCache,
+	                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+	                                          @Valid final SearchRequest searchRequest) {
+		final var schemas = schemaRetriever.getSchemaDetails(toRequestContext(ignoreCache), searchRequest);
+		final var version = SchemaUtils.getFingerprint(schemas);
+		final var modified = !matches(ifNoneMatch, version);
+		return Response.ok(VersionedSchemas.builder()
+						.version(version)
+						.modified(modified)
+						.schemas(modified ? schemas : null)
+						.build())
+				.tag(new EntityTag(version))
+				.build();
+	}
+
+	/*
+		Long-poll counterpart of /details/versioned. The request is held until the search result no longer matches
+		If-None-Match and then answered with the new schemas, or answered as not modified after timeoutMs, so clients
+		see changes as soon as this instance does and simply ask again.
+	 */
+	@POST
+	@Timed
+	@ExceptionMetered
+	@Path("/details/watch")
+	public void watchSchemaDetails(@QueryParam("timeoutMs") @DefaultValue("20000") long timeoutMs,
+	                               @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+	                               @Valid final SearchRequest searchRequest,
+	                               @Suspended final AsyncResponse asyncResponse) {
+		final var boundedTimeoutMs = Math.max(0, Math.min(timeoutMs, MAX_WATCH_TIMEOUT_MS));
+		schemaChangeWatcher.watch(searchRequest, toVersion(ifNoneMatch), boundedTimeoutMs)
+				.whenCompleteAsync((versionedSchemas, throwable) -> {
+					if (null != throwable) {
+						asyncResponse.resume(throwable);
+						return;
+					}
+					asyncResponse.resume(Response.ok(versionedSchemas)
+							.tag(new EntityTag(versionedSchemas.getVersion()))
+							.build());
+				}, responseExecutor);
 	}
 
 	@POST
@@ -23,6 +23,7 @@ import co.elastic.clients.elasticsearch._types.Time;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MatchAllQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermsQuery;
 import co.elastic.clients.elasticsearch.core.GetRequest;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
@@ -53,6 +54,9 @@ public class ElasticRepository implements SchemaRepository {
 	private static final String TENANT = "tenantId";
 	private static final String SCHEMA_NAME = "schemaName";
 	private static final String SCHEMA_STATE = "schemaState";
+	private static final String UPDATED_AT = "updatedAt";
+	private static final String SHARD_DOC = "_shard_doc";
+	private static final String POINT_IN_TIME_KEEP_ALIVE = "1m";
 	private final ElasticsearchClient client;
 	private final ElasticConfig elasticConfig;
 	private final String schemaIndex;
@@ -109,6 +113,7 @@ public class ElasticRepository implements SchemaRepository {
 				.transformationTargets(schemaDetails.getTransformationTargets())
 				.histories(schemaDetails.getHistories())
 				.tags(schemaDetails.getTags())
+				.updatedAt(schemaDetails.getUpdatedAt())
 				.build();
 	}
 
@@ -123,12 +128,14 @@ public class ElasticRepository implements SchemaRepository {
 				.transformationTargets(storedElasticRecord.getTransformationTargets())
 				.histories(storedElasticRecord.getHistories())
 				.tags(storedElasticRecord.getTags())
+				.updatedAt(storedElasticRecord.getUpdatedAt())
 				.build();
 	}
 
 	@Override
 	@SneakyThrows
 	public void create(SchemaDetails schema) {
+		schema.setUpdatedAt(System.currentTimeMillis());
 		final var createDocument = new IndexRequest.Builder<>()
 				.document(toStorageRecord(schema))
 				.index(schemaIndex)
@@ -142,6 +149,7 @@ public class ElasticRepository implements SchemaRepository {
 	@Override
 	@SneakyThrows
 	public void update(SchemaDetails schema) {
+		schema.setUpdatedAt(System.currentTimeMillis());
 		final var updateRequest = new UpdateRequest.Builder<>()
 				.index(schemaIndex)
 				.id(schema.getReferenceId())
@@ -193,17 +201,73 @@ public class ElasticRepository implements SchemaRepository {
 		final var searchQuery = filters.isEmpty()
 				? MatchAllQuery.of(q -> q)._toQuery()
 				: BoolQuery.of(q -> q.must(filters))._toQuery();
+		return search(searchQuery);
+	}
+
+	@Override
+	@SneakyThrows
+	public List<SchemaDetails> getSchemasUpdatedAfter(final long updatedAfter) {
+		return search(RangeQuery.of(q -> q.number(n -> n.field(UPDATED_AT)
+				.gt((double) updatedAfter)))._toQuery());
+	}
+
+	/*
+		A single cached search covers the common case. Only when it comes back full, and hence may have been cut off at
+		maxResultSize, are the hits read again, maxResultSize at a time, off a point in time.
+	 */
+	@SneakyThrows
+	private List<SchemaDetails> search(final Query searchQuery) {
 		final var searchResponse = client.search(SearchRequest.of(
 						s -> s.query(searchQuery)
 								.requestCache(true)
 								.index(List.of(schemaIndex))
-								.size(elasticConfig.getMaxResultSize()) //If you have more than 10K schemas, this will hold you up!
+								.size(elasticConfig.getMaxResultSize())
 								.timeout(elasticConfig.getTimeout())),
 				StoredElasticRecord.class
 		);
-		return searchResponse.hits()
-				.hits()
-				.stream()
+		final var hits = searchResponse.hits().hits();
+		if (hits.size() >= elasticConfig.getMaxResultSize()) {
+			return searchAll(searchQuery);
+		}
+		return hits.stream()
 				.map(each -> toSchemaDetails(Objects.requireNonNull(each.source()))).toList();
 	}
+
+	/*
+		Pages stay consistent with each other while writes go on, maxResultSize is the page size here rather than a cap
+		on the result.
+	 */
+	@SneakyThrows
+	private List<SchemaDetails> searchAll(final Query searchQuery) {
+		final var keepAlive = Time.of(t -> t.time(POINT_IN_TIME_KEEP_ALIVE));
+		final var pointInTimeId = client.openPointInTime(p -> p.index(schemaIndex).keepAlive(keepAlive)).id();
+		try {
+			final var schemas = new ArrayList<SchemaDetails>();
+			List<FieldValue> searchAfter = null;
+			while (true) {
+				final var after = searchAfter;
+				final var searchResponse = client.search(SearchRequest.of(s -> {
+							s.query(searchQuery)
+									.pit(p -> p.id(pointInTimeId).keepAlive(keepAlive))
+									.sort(sort -> sort.field(f -> f.field(SHARD_DOC)))
+									.size(elasticConfig.getMaxResultSize())
+									.timeout(elasticConfig.getTimeout());
+							if (null != after) {
+								s.searchAfter(after);
+							}
+							return s;
+						}),
+						StoredElasticRecord.class
+				);
+				final var hits = searchResponse.hits().hits();
+				hits.forEach(each -> schemas.add(toSchemaDetails(Objects.requireNonNull(each.source()))));
+				if (hits.size() < elasticConfig.getMaxResultSize()) {
+					return schemas;
+				}
+				searchAfter = hits.get(hits.size() - 1).sort();
+			}
+		} finally {
+			client.closePointInTime(c -> c.id(pointInTimeId));
+		}
+	}
 }
@@ -68,6 +68,7 @@ public class StoredElasticRecord {
 	Set<SchemaHistoryItem> histories = new HashSet<>();
 	@Builder.Default
 	Set<String> tags = new HashSet<>();
+	private long updatedAt;
 
 	@JsonIgnore
 	public SchemaKey getSchemaKey() {
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.grookage.leia.http.processor.config.BackendType;
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
+import com.grookage.leia.http.processor.exception.LeiaHttpErrorCode;
+import com.grookage.leia.http.processor.limiter.AdaptiveConcurrencyLimiter;
+import com.grookage.leia.http.processor.request.LeiaHttpEntity;
+import com.grookage.leia.http.processor.request.SendPlan;
+import com.grookage.leia.http.processor.retry.RetryHandler;
+import com.grookage.leia.http.processor.spillover.SpilloverController;
+import com.grookage.leia.models.exception.LeiaException;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.breaker.CircuitBreaker;
+import com.grookage.leia.mux.exception.LeiaProcessorErrorCode;
+import com.grookage.leia.mux.executor.MessageExecutor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/*
+	Everything an HTTP backend does around a send: the circuit breaker, concurrency limit, send plan, retries, outcome
+	reporting and the queued and adaptive modes. Subclasses only turn a send plan into a request of type R for their
+	client and execute it, and close that client.
+ */
+@Slf4j
+@Getter
+public abstract class AbstractHttpMessageExecutor<T, R> extends MessageExecutor implements Closeable {
+
+	private final String name;
+	private final HttpBackendConfig backendConfig;
+	private final Supplier<String> authSupplier;
+	private final ObjectMapper mapper;
+	private final RetryHandler retryHandler;
+	private HttpMessageExecutor.QueuedSender queuedSender;
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private SpilloverController spilloverController;
+	private volatile SendPlan sendPlan;
+
+	protected AbstractHttpMessageExecutor(HttpBackendConfig backendConfig,
+	                                      Supplier<String> authSupplier,
+	                                      ObjectMapper mapper) {
+		super();
+		this.name = backendConfig.getBackendName();
+		this.backendConfig = backendConfig;
+		this.authSupplier = authSupplier;
+		this.mapper = mapper;
+		this.retryHandler = new RetryHandler(backendConfig.getBackendName(), backendConfig.getRetryCount(),
+				backendConfig.getRetryConfig());
+		if (backendConfig.circuitBreakerEnabled()) {
+			setCircuitBreaker(new CircuitBreaker(backendConfig.getBackendName(), backendConfig.getCircuitBreaker()));
+		}
+		if (backendConfig.concurrencyLimited()) {
+			this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(backendConfig.getBackendName(),
+					backendConfig.getConcurrencyLimit());
+		}
+	}
+
+	public abstract T getRequestData(LeiaHttpEntity leiaHttpEntity);
+
+	public abstract Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig);
+
+	/*
+		Builds the client request for one send, once, ahead of all its attempts.
+	 */
+	protected abstract R toRequest(SendPlan plan, T requestData) throws Exception;
+
+	/*
+		One attempt. Blocking clients run it on requestExecutor, non-blocking ones can ignore it.
+	 */
+	protected abstract CompletableFuture<String> execute(R request, Executor requestExecutor);
+
+	protected abstract void closeClient();
+
+	/*
+		Has to run at the end of the subclass constructor, the queue drainers start sending right away and need its
+		client.
+	 */
+	protected void startSenders() {
+		if (backendConfig.getBackendType() != BackendType.SYNC) {
+			this.queuedSender = new HttpMessageExecutor.QueuedSender(backendConfig, mapper, this::executeQueued);
+		}
+		if (backendConfig.getBackendType() == BackendType.ADAPTIVE) {
+			this.spilloverController = new SpilloverController(backendConfig.getBackendName(), backendConfig.getSpillover(),
+					queuedSender::getBacklog);
+		}
+	}
+
+	private void onRequestCompletion(final long startTime, final boolean successful) {
+		final var latencyMs = System.currentTimeMillis() - startTime;
+		recordOutcome(latencyMs, successful);
+		if (null != spilloverController) {
+			spilloverController.record(latencyMs, successful);
+		}
+		if (null == concurrencyLimiter) {
+			return;
+		}
+		if (successful) {
+			concurrencyLimiter.onSuccess(latencyMs);
+		} else {
+			concurrencyLimiter.onFailure();
+		}
+	}
+
+	private SendPlan resolveSendPlan(final LeiaHttpEndPoint endPoint) {
+		final var current = sendPlan;
+		if (null != current && current.matches(backendConfig, endPoint)) {
+			return current;
+		}
+		final var refreshed = SendPlan.of(backendConfig, endPoint);
+		sendPlan = refreshed;
+		return refreshed;
+	}
+
+	private R prepare(List<LeiaMessage> messages) throws Exception {
+		final var endPoint = getEndPoint(backendConfig).orElse(null);
+		if (null == endPoint) {
+			log.debug("No valid end point found for backendConfig {}", backendConfig);
+			throw LeiaException.error(LeiaHttpErrorCode.INVALID_ENDPOINT);
+		}
+		final var plan = resolveSendPlan(endPoint);
+		return toRequest(plan, getRequestData(plan.toHttpEntity(messages)));
+	}
+
+	/*
+		Queued batches are never handed to the breaker's openAction. While the circuit is open they fail with
+		CIRCUIT_OPEN instead, which leaves them in the queue for the drainers to redeliver.
+	 */
+	private CompletableFuture<Void> executeQueued(final List<LeiaMessage> messages) {
+		final var circuitBreaker = getCircuitBreaker();
+		if (null != circuitBreaker && !circuitBreaker.tryAcquirePermission()) {
+			return CompletableFuture.failedFuture(LeiaException.error(LeiaProcessorErrorCode.CIRCUIT_OPEN));
+		}
+		return sendPermitted(messages, RetryHandler.DEFAULT_RETRY_EXECUTOR);
+	}
+
+	private CompletableFuture<Void> executeRequest(final List<LeiaMessage> messages, final Executor requestExecutor) {
+		try {
+			if (!acquirePermission(messages)) {
+				return CompletableFuture.completedFuture(null);
+			}
+		} catch (LeiaException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		return sendPermitted(messages, requestExecutor);
+	}
+
+	/*
+		Runs a send the breaker has already let through. Every attempt is handed to requestExecutor, and the backoff
+		between attempts is scheduled instead of slept, so a thread is only held for the duration of each call.
+	 */
+	private CompletableFuture<Void> sendPermitted(final List<LeiaMessage> messages, final Executor requestExecutor) {
+		if (null != concurrencyLimiter && !concurrencyLimiter.acquire()) {
+			log.error("Concurrency limit of {} exceeded for backend {}", concurrencyLimiter.getLimit(), name);
+			releasePermission();
+			onSendFailure(messages, LeiaException.error(LeiaHttpErrorCode.CONCURRENCY_LIMIT_EXCEEDED));
+			return CompletableFuture.completedFuture(null);
+		}
+		final var startTime = System.currentTimeMillis();
+		final R request;
+		try {
+			request = prepare(messages);
+		} catch (Exception e) {
+			onRequestCompletion(startTime, false);
+			log.error("Building the request for backend {} has failed with exception {}", name, e.getMessage(), e);
+			onSendFailure(messages, e);
+			return CompletableFuture.completedFuture(null);
+		}
+		return retryHandler.execute(() -> execute(request, requestExecutor), RetryHandler.DEFAULT_RETRY_EXECUTOR)
+				.handle((response, throwable) -> {
+					onRequestCompletion(startTime, null == throwable);
+					if (null == throwable) {
+						log.debug("Call to backend {} was successful and returned response {}", name, response);
+						return null;
+					}
+					final var cause = RetryHandler.unwrap(throwable);
+					log.error("Sending message to the backend {} has failed with exception {}", name, cause.getMessage(), cause);
+					onSendFailure(messages, cause instanceof Exception exception ? exception : new CompletionException(cause));
+					return null;
+				});
+	}
+
+	private void releasePermission() {
+		if (null != getCircuitBreaker()) {
+			getCircuitBreaker().releasePermission();
+		}
+	}
+
+	@Override
+	protected boolean reportsOutcomes() {
+		return true;
+	}
+
+	@Override
+	public boolean isAsync() {
+		return true;
+	}
+
+	@Override
+	public CompletableFuture<Void> sendAsync(List<LeiaMessage> messages, Executor blockingExecutor) {
+		if (backendConfig.getBackendType() == BackendType.QUEUED) {
+			return super.sendAsync(messages, blockingExecutor);
+		}
+		if (backendConfig.getBackendType() == BackendType.ADAPTIVE) {
+			return spilloverController.route(() -> executeRequest(messages, blockingExecutor),
+					() -> queuedSender.send(messages));
+		}
+		return executeRequest(messages, blockingExecutor);
+	}
+
+	@Override
+	public void sendEnvelope(List<LeiaMessage> messages) {
+		final var backendType = backendConfig.getBackendType();
+		backendType.apply(new BackendType.BackendTypeVisitor() {
+			@Override
+			public void sync() {
+				executeRequest(messages, Runnable::run).join();
+			}
+
+			@Override
+			public void queued() {
+				Preconditions.checkNotNull(queuedSender, "QueuedSender can't be null in queued mode");
+				queuedSender.send(messages);
+			}
+
+			@Override
+			public void adaptive() {
+				Preconditions.checkNotNull(spilloverController, "SpilloverController can't be null in adaptive mode");
+				spilloverController.route(() -> executeRequest(messages, Runnable::run),
+						() -> queuedSender.send(messages)).join();
+			}
+		});
+	}
+
+	/*
+		Stops the queue drainers, if any, and then closes this backend's client.
+	 */
+	@Override
+	public void close() {
+		if (null != queuedSender) {
+			queuedSender.stop();
+		}
+		closeClient();
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.exception.BackendResponseException;
+import com.grookage.leia.http.processor.request.JsonRequestEntity;
+import com.grookage.leia.http.processor.request.SendPlan;
+import com.grookage.leia.http.processor.utils.HttpClientUtils;
+import lombok.Getter;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.io.CloseMode;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/*
+	Non-blocking counterpart of HttpMessageExecutor. Sends go through HttpClient 5's async client (optionally over
+	HTTP/2, see HttpBackendConfig.http2) and retries are scheduled off the response future by RetryHandler, so no
+	thread is parked while a request is in flight. Each executor starts its own client, sized from the backend's
+	HttpPoolConfig, and shuts it down on close.
+ */
+@Getter
+public abstract class AsyncHttpMessageExecutor<T> extends AbstractHttpMessageExecutor<T, SimpleHttpRequest> {
+
+	private final CloseableHttpAsyncClient httpClient;
+
+	protected AsyncHttpMessageExecutor(HttpBackendConfig backendConfig,
+	                                   Supplier<String> authSupplier,
+	                                   ObjectMapper mapper) {
+		super(backendConfig, authSupplier, mapper);
+		this.httpClient = HttpClientUtils.getAsyncClient(backendConfig);
+		this.httpClient.start();
+		startSenders();
+	}
+
+	@Override
+	protected SimpleHttpRequest toRequest(final SendPlan plan, final T requestData) throws Exception {
+		final var contentEncoding = getBackendConfig().getContentEncoding();
+		final var requestBuilder = SimpleRequestBuilder.post(plan.getUri())
+				.setHeaders(plan.getHeaders())
+				.addHeader("Authorization", getAuthSupplier().get())
+				.setBody(JsonRequestEntity.of(getMapper(), requestData, contentEncoding).toByteArray(), ContentType.APPLICATION_JSON);
+		if (null != contentEncoding && null != contentEncoding.getHeaderValue()) {
+			requestBuilder.addHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding.getHeaderValue());
+		}
+		return requestBuilder.build();
+	}
+
+	@Override
+	protected CompletableFuture<String> execute(final SimpleHttpRequest request, final Executor requestExecutor) {
+		final var future = new CompletableFuture<String>();
+		httpClient.execute(request, new FutureCallback<>() {
+			@Override
+			public void completed(SimpleHttpResponse response) {
+				final var code = response.getCode();
+				if (code >= HttpStatus.SC_REDIRECTION) {
+					future.completeExceptionally(BackendResponseException.of(response));
+					return;
+				}
+				future.complete(response.getBodyText());
+			}
+
+			@Override
+			public void failed(Exception ex) {
+				future.completeExceptionally(ex);
+			}
+
+			@Override
+			public void cancelled() {
+				future.completeExceptionally(new CancellationException("Request to backend " + getName() + " was cancelled"));
+			}
+		});
+		return future;
+	}
+
+	@Override
+	protected void closeClient() {
+		httpClient.close(CloseMode.GRACEFUL);
+	}
+}
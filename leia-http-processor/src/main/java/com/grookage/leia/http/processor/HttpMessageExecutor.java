@@ -16,224 +16,377 @@
 
 package com.grookage.leia.http.processor;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.rholder.retry.*;
-import com.google.common.base.Preconditions;
-import com.grookage.leia.http.processor.config.BackendType;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.grookage.leia.http.processor.config.HttpBackendConfig;
-import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
-import com.grookage.leia.http.processor.exception.LeiaHttpErrorCode;
-import com.grookage.leia.http.processor.request.LeiaHttpEntity;
+import com.grookage.leia.http.processor.exception.BackendResponseException;
+import com.grookage.leia.http.processor.queue.CommitCursor;
+import com.grookage.leia.http.processor.queue.MessageLog;
+import com.grookage.leia.http.processor.queue.QueueRecordCodec;
+import com.grookage.leia.http.processor.request.JsonRequestEntity;
+import com.grookage.leia.http.processor.request.SendPlan;
 import com.grookage.leia.http.processor.utils.HttpClientUtils;
-import com.grookage.leia.http.processor.utils.HttpRequestUtils;
-import com.grookage.leia.models.exception.LeiaException;
 import com.grookage.leia.models.mux.LeiaMessage;
-import com.grookage.leia.mux.executor.MessageExecutor;
-import com.leansoft.bigqueue.BigQueueImpl;
-import com.leansoft.bigqueue.IBigQueue;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.client5.http.HttpResponseException;
 import org.apache.hc.client5.http.fluent.Request;
-import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.core5.http.HttpStatus;
-import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.message.BasicHeader;
-import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.io.CloseMode;
 
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
-import java.util.function.UnaryOperator;
+import java.util.function.Function;
 
-@AllArgsConstructor
 @Slf4j
 @Getter
-public abstract class HttpMessageExecutor<T> extends MessageExecutor {
+public abstract class HttpMessageExecutor<T> extends AbstractHttpMessageExecutor<T, HttpMessageExecutor.PreparedRequest> {
 
-	private final String name;
-	private final HttpBackendConfig backendConfig;
-	private final Supplier<String> authSupplier;
-	private final ObjectMapper mapper;
-	private final Retryer<String> retryer;
-	private QueuedSender queuedSender;
+	private final CloseableHttpClient httpClient;
 
 	protected HttpMessageExecutor(HttpBackendConfig backendConfig,
 	                              Supplier<String> authSupplier,
 	                              ObjectMapper mapper) {
-		super();
-		this.name = backendConfig.getBackendName();
-		this.backendConfig = backendConfig;
-		this.authSupplier = authSupplier;
-		this.mapper = mapper;
-		this.retryer = RetryerBuilder.<String>newBuilder()
-				.retryIfExceptionOfType(HttpResponseException.class)
-				.withWaitStrategy(
-						WaitStrategies.fixedWait(0, TimeUnit.MILLISECONDS))
-				.withStopStrategy(StopStrategies.stopAfterAttempt(backendConfig.getRetryCount()))
-				.withBlockStrategy(BlockStrategies.threadSleepStrategy())
-				.build();
-		if (backendConfig.getBackendType() == BackendType.QUEUED) {
-			this.queuedSender = new QueuedSender(backendConfig, mapper, messages -> {
-				executeRequest(messages);
-				return messages;
-			});
-		}
+		super(backendConfig, authSupplier, mapper);
+		this.httpClient = HttpClientUtils.getCloseableClient(backendConfig);
+		startSenders();
 	}
 
-	public abstract T getRequestData(LeiaHttpEntity leiaHttpEntity);
+	/*
+		Everything that doesn't change between attempts, built once per send.
+	 */
+	record PreparedRequest(URI uri, BasicHeader[] headers, JsonRequestEntity entity) {
+	}
 
-	public abstract Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig);
+	@Override
+	protected PreparedRequest toRequest(final SendPlan plan, final T requestData) throws Exception {
+		return new PreparedRequest(plan.getUri(), plan.getHeaders(),
+				JsonRequestEntity.of(getMapper(), requestData, getBackendConfig().getContentEncoding()));
+	}
 
 	@SneakyThrows
-	private void executeRequest(List<LeiaMessage> messages) {
-		try {
-			retryer.call(() -> {
-				final var leiaHttpEntity = HttpRequestUtils.toHttpEntity(messages, backendConfig);
-				final var requestData = getRequestData(leiaHttpEntity);
-				final var endPoint = getEndPoint(backendConfig).orElse(null);
-				if (null == endPoint) {
-					log.debug("No valid end point found for backendConfig {}", backendConfig);
-					throw LeiaException.error(LeiaHttpErrorCode.INVALID_ENDPOINT);
-				}
-				final var httpUrl = new URIBuilder()
-						.setScheme(endPoint.isSecure()
-								? "https"
-								: "http")
-						.setHost(endPoint.getHost())
-						.setPort(endPoint.getPort() == 0
-								? endPoint.defaultPort()
-								: endPoint.getPort())
-						.setPath(endPoint.getUri())
-						.build();
-				var request = Request.post(httpUrl)
-						.body(new ByteArrayEntity(mapper.writeValueAsBytes(requestData), ContentType.APPLICATION_JSON))
-						.addHeader("Authorization", authSupplier.get());
-				if (backendConfig.headersProvided()) {
-					request = request.setHeaders(backendConfig.getHeaders()
-							.entrySet().stream().map(each -> new BasicHeader(each.getKey(), each.getValue()))
-							.toArray(BasicHeader[]::new));
-				}
-				final var response = HttpClientUtils.getExecutor().execute(request).handleResponse(httpResponse -> {
-					final var code = httpResponse.getCode();
-					if (code >= HttpStatus.SC_REDIRECTION) {
-						throw new HttpResponseException(code, httpResponse.getReasonPhrase());
-					}
-					final var responseEntity = httpResponse.getEntity();
-					return null == responseEntity ? null : EntityUtils.toString(responseEntity);
-				});
-				log.debug("Call to backend with backendConfig {} was successful and returned response {}", backendConfig, response);
-				return response;
-			});
-		} catch (Exception e) {
-			log.error("Sending message to the backend {} has failed with exception {}", backendConfig.getBackendName(), e.getMessage(), e);
-			handleException(messages, e.getCause() != null ? (Exception) e.getCause() : e);
-		}
+	private String call(PreparedRequest preparedRequest) {
+		final var request = Request.post(preparedRequest.uri())
+				.setHeaders(preparedRequest.headers())
+				.addHeader("Authorization", getAuthSupplier().get())
+				.body(preparedRequest.entity());
+		return request.execute(httpClient).handleResponse(httpResponse -> {
+			final var code = httpResponse.getCode();
+			if (code >= HttpStatus.SC_REDIRECTION) {
+				throw BackendResponseException.of(httpResponse);
+			}
+			final var responseEntity = httpResponse.getEntity();
+			return null == responseEntity ? null : EntityUtils.toString(responseEntity);
+		});
 	}
 
-	public void sendEnvelope(List<LeiaMessage> messages) {
-		final var backendType = backendConfig.getBackendType();
-		backendType.apply(new BackendType.BackendTypeVisitor() {
-			@Override
-			public void sync() {
-				executeRequest(messages);
-			}
+	@Override
+	protected CompletableFuture<String> execute(final PreparedRequest request, final Executor requestExecutor) {
+		return CompletableFuture.supplyAsync(() -> call(request), requestExecutor);
+	}
 
-			@Override
-			public void queued() {
-				Preconditions.checkNotNull(queuedSender, "QueuedSender can't be null in queued mode");
-				queuedSender.send(messages);
-			}
-		});
+	@Override
+	protected void closeClient() {
+		httpClient.close(CloseMode.GRACEFUL);
 	}
 
+	/*
+		Persists sends to an on-disk MessageLog (see queueStorage) and drains it with queueConsumers threads, keeping up to
+		queueMaxInFlight batches in flight. Entries are only read, never dequeued; the CommitCursor moves past a batch
+		once its send has finished (acknowledged, or handed to onSendFailure), in order, so a crash re-delivers
+		anything that was in flight. A send that completes exceptionally (an open circuit) is never committed: the
+		batch is kept for redelivery and every drainer backs off for the idle poll before claiming again.
+		Consumers are woken on enqueue and the 1s poll only matters when idle.
+	 */
 	public static class QueuedSender {
-		private final IBigQueue messageQueue;
-		private final ObjectMapper mapper;
+		private static final long IDLE_POLL_MS = 1000;
+
+		private final HttpBackendConfig backendConfig;
+		private final MessageLog messageLog;
+		private final QueueRecordCodec recordCodec;
+		private final Function<List<LeiaMessage>, CompletableFuture<Void>> messageSender;
+		private final CommitCursor commitCursor;
+		private final Semaphore inFlight;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition enqueued = lock.newCondition();
+		private final List<QueueDrainer> drainers = new ArrayList<>();
+		private final PriorityQueue<Batch> redeliveries = new PriorityQueue<>(Comparator.comparingLong(Batch::startIndex));
+		private final ExecutorService consumers;
+		private final ScheduledExecutorService scheduler;
+		private long readIndex;
+		private volatile boolean running = true;
+		private volatile long pausedUntil;
 
 		@SneakyThrows
 		public QueuedSender(final HttpBackendConfig backendConfig,
 		                    final ObjectMapper mapper,
-		                    final UnaryOperator<List<LeiaMessage>> messageOperator) {
-			final var perms = PosixFilePermissions.fromString("rwxrwxrwx");
+		                    final Function<List<LeiaMessage>, CompletableFuture<Void>> messageSender) {
+			final var perms = PosixFilePermissions.fromString(backendConfig.getQueuePermissions());
 			final var attr = PosixFilePermissions.asFileAttribute(perms);
 			Files.createDirectories(Paths.get(backendConfig.getQueuePath()), attr);
-			this.mapper = mapper;
-			this.messageQueue = new BigQueueImpl(backendConfig.getQueuePath(), backendConfig.getBackendName());
-			final var flushRunner = new FlushRunner(mapper, messageQueue, backendConfig, messageOperator);
-			final var scheduler = Executors.newScheduledThreadPool(2);
-			scheduler.scheduleWithFixedDelay(flushRunner, 0, 1, TimeUnit.SECONDS);
-			scheduler.scheduleWithFixedDelay(new GcRunner(messageQueue), 0, 15, TimeUnit.SECONDS);
+			this.backendConfig = backendConfig;
+			this.recordCodec = new QueueRecordCodec(mapper, backendConfig.getQueueRecordFormat());
+			this.messageSender = messageSender;
+			this.messageLog = MessageLog.open(backendConfig);
+			this.commitCursor = new CommitCursor(MessageLog.cursorPath(backendConfig), messageLog.getTailIndex(),
+					messageLog.getHeadIndex());
+			this.readIndex = commitCursor.getCommitted();
+			this.inFlight = new Semaphore(Math.max(1, backendConfig.getQueueMaxInFlight()));
+			final var consumerCount = Math.max(1, backendConfig.getQueueConsumers());
+			this.consumers = Executors.newFixedThreadPool(consumerCount, new ThreadFactoryBuilder()
+					.setNameFormat("leia-queue-" + backendConfig.getBackendName() + "-%d")
+					.setDaemon(true)
+					.build());
+			for (int i = 0; i < consumerCount; i++) {
+				final var drainer = new QueueDrainer();
+				drainers.add(drainer);
+				consumers.execute(drainer);
+			}
+			this.scheduler = Executors.newSingleThreadScheduledExecutor();
+			scheduler.scheduleWithFixedDelay(new GcRunner(messageLog, commitCursor), 0, 15, TimeUnit.SECONDS);
 		}
 
 		@SneakyThrows
 		public void send(List<LeiaMessage> messages) {
-			this.messageQueue.enqueue(mapper.writeValueAsBytes(messages));
+			this.messageLog.append(recordCodec.encode(messages));
+			lock.lock();
+			try {
+				enqueued.signal();
+			} finally {
+				lock.unlock();
+			}
 		}
-	}
 
-	public static class FlushRunner implements Runnable {
+		public long getBacklog() {
+			return messageLog.getHeadIndex() - commitCursor.getCommitted();
+		}
 
-		private final IBigQueue queue;
-		private final ObjectMapper mapper;
-		private final HttpBackendConfig backendConfig;
-		private final UnaryOperator<List<LeiaMessage>> messageOperator;
-
-		public FlushRunner(ObjectMapper mapper,
-		                   IBigQueue queue,
-		                   HttpBackendConfig backendConfig,
-		                   UnaryOperator<List<LeiaMessage>> messageOperator) {
-			this.queue = queue;
-			this.mapper = mapper;
-			this.backendConfig = backendConfig;
-			this.messageOperator = messageOperator;
+		public long getDiskUsageBytes() {
+			return messageLog.getDiskUsageBytes();
 		}
 
-		@Override
-		public void run() {
+		public int getInFlightBatches() {
+			return commitCursor.getPendingBatches();
+		}
+
+		public List<Integer> getBatchSizes() {
+			return drainers.stream().map(QueueDrainer::getBatchSize).toList();
+		}
+
+		@SneakyThrows
+		public void stop() {
+			running = false;
+			lock.lock();
 			try {
-				var messages = new ArrayList<LeiaMessage>();
-				while (messages.size() < backendConfig.getQueueThreshold() && !queue.isEmpty()) {
-					final var dqMessages = mapper.readValue(queue.dequeue(), new TypeReference<List<LeiaMessage>>() {
-					});
-					messages.addAll(dqMessages);
-				}
+				enqueued.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			consumers.shutdown();
+			scheduler.shutdown();
+			consumers.awaitTermination(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+			scheduler.awaitTermination(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+			/*
+				Nothing is claimed any more, so once every permit is back no send is left to complete into the cursor.
+				Whatever is still out after queueStopTimeoutMs stays uncommitted and is redelivered on the next start.
+			 */
+			if (!inFlight.tryAcquire(Math.max(1, backendConfig.getQueueMaxInFlight()),
+					backendConfig.getQueueStopTimeoutMs(), TimeUnit.MILLISECONDS)) {
+				log.warn("Stopping the queue for backend {} with {} batches still in flight",
+						backendConfig.getBackendName(), getInFlightBatches());
+			}
+			commitCursor.close();
+			messageLog.close();
+		}
+
+		private record Batch(long startIndex, long endIndex, List<LeiaMessage> messages) {
+		}
 
-				if (!messages.isEmpty()) {
-					messageOperator.apply(messages);
+		/*
+			Hands out the oldest batch waiting for redelivery, if any. Otherwise reads entries from readIndex onwards
+			until batchSize messages are collected, registering the range with the commit cursor. Waits for an enqueue
+			(or the idle poll) when there's nothing to read.
+		 */
+		private Batch claim(final int batchSize) throws Exception {
+			lock.lock();
+			try {
+				if (running && redeliveries.isEmpty() && readIndex >= messageLog.getHeadIndex()) {
+					enqueued.await(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+				}
+				if (!running) {
+					return null;
+				}
+				if (!redeliveries.isEmpty()) {
+					return redeliveries.poll();
+				}
+				final var headIndex = messageLog.getHeadIndex();
+				if (readIndex >= headIndex) {
+					return null;
+				}
+				final var startIndex = readIndex;
+				final var messages = new ArrayList<LeiaMessage>();
+				while (messages.size() < batchSize && readIndex < headIndex) {
+					final var index = readIndex++;
+					try {
+						messages.addAll(recordCodec.decode(messageLog.get(index)));
+					} catch (Exception e) {
+						log.error("Skipping unreadable queue entry {} for backend {}", index, backendConfig.getBackendName(), e);
+					}
 				}
+				commitCursor.begin(startIndex, readIndex);
+				return new Batch(startIndex, readIndex, messages);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private CompletableFuture<Void> dispatch(final Batch batch) {
+			if (batch.messages().isEmpty()) {
+				return CompletableFuture.completedFuture(null);
+			}
+			try {
+				return messageSender.apply(batch.messages());
+			} catch (Exception e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		private void complete(final Batch batch) {
+			try {
+				commitCursor.complete(batch.startIndex());
 			} catch (Exception e) {
-				log.error("Queue flush failed for backend config {} with exception", backendConfig, e);
-				throw LeiaException.error(LeiaHttpErrorCode.QUEUE_SEND_FAILED);
+				log.error("Couldn't commit queue cursor for backend {} at {}", backendConfig.getBackendName(),
+						batch.endIndex(), e);
+			} finally {
+				inFlight.release();
+			}
+		}
+
+		/*
+			Leaves the batch uncommitted, so the cursor can't move past it, and queues it to be claimed again once the
+			drainers have backed off.
+		 */
+		private void redeliver(final Batch batch) {
+			lock.lock();
+			try {
+				redeliveries.add(batch);
+				pausedUntil = System.currentTimeMillis() + IDLE_POLL_MS;
+			} finally {
+				lock.unlock();
+				inFlight.release();
+			}
+		}
+
+		/*
+			Batch size starts at queueThreshold and doubles while there is more backlog than a batch and flushes stay
+			under queueTargetLatencyMs, halving again once they don't. Capped at queueMaxBatchSize.
+		 */
+		private class QueueDrainer implements Runnable {
+			@Getter
+			private volatile int batchSize = Math.max(1, backendConfig.getQueueThreshold());
+
+			private void adapt(final int flushed, final long latencyMs) {
+				final var minBatchSize = Math.max(1, backendConfig.getQueueThreshold());
+				final var maxBatchSize = Math.max(minBatchSize, backendConfig.getQueueMaxBatchSize());
+				if (latencyMs > backendConfig.getQueueTargetLatencyMs()) {
+					batchSize = Math.max(minBatchSize, batchSize / 2);
+				} else if (flushed >= batchSize && getBacklog() > getInFlightBatches()) {
+					batchSize = Math.min(maxBatchSize, batchSize * 2);
+				}
+			}
+
+			private void drain() throws Exception {
+				final var backOffMs = pausedUntil - System.currentTimeMillis();
+				if (backOffMs > 0) {
+					TimeUnit.MILLISECONDS.sleep(Math.min(backOffMs, IDLE_POLL_MS));
+					return;
+				}
+				inFlight.acquire();
+				final Batch batch;
+				try {
+					batch = claim(batchSize);
+				} catch (Exception e) {
+					inFlight.release();
+					throw e;
+				}
+				if (null == batch) {
+					inFlight.release();
+					return;
+				}
+				final var startTime = System.currentTimeMillis();
+				dispatch(batch).whenComplete((result, throwable) -> {
+					if (null != throwable) {
+						log.warn("Queue flush failed for backend {}, keeping {} messages for redelivery: {}",
+								backendConfig.getBackendName(), batch.messages().size(), throwable.getMessage());
+						redeliver(batch);
+						return;
+					}
+					complete(batch);
+					adapt(batch.messages().size(), System.currentTimeMillis() - startTime);
+				});
+			}
+
+			@Override
+			public void run() {
+				while (running && !Thread.currentThread().isInterrupted()) {
+					try {
+						drain();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					} catch (Exception e) {
+						log.error("Queue drain failed for backend {}", backendConfig.getBackendName(), e);
+						pause();
+					}
+				}
+			}
+
+			private void pause() {
+				try {
+					TimeUnit.MILLISECONDS.sleep(IDLE_POLL_MS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
 			}
 		}
 	}
 
 	public static class GcRunner implements Runnable {
 
-		private final IBigQueue bigQueue;
+		private final MessageLog messageLog;
+		private final CommitCursor commitCursor;
 
-		public GcRunner(IBigQueue bigQueue) {
-			this.bigQueue = bigQueue;
+		public GcRunner(MessageLog messageLog, CommitCursor commitCursor) {
+			this.messageLog = messageLog;
+			this.commitCursor = commitCursor;
 		}
 
 		@Override
 		public void run() {
 			try {
-				log.info("Running BigQueue garbage collection");
-				bigQueue.gc();
+				log.debug("Running queue garbage collection");
+				messageLog.removeBeforeIndex(commitCursor.getCommitted());
 			} catch (Exception e) {
-				log.error("Failed to run BigQueue garbage collection", e);
+				log.error("Failed to run queue garbage collection", e);
 			}
 		}
 	}
@@ -28,6 +28,15 @@ public enum BackendType {
 		public void apply(BackendTypeVisitor visitor) {
 			visitor.queued();
 		}
+	},
+
+	/*
+		Sends synchronously, spilling over to the queue while the backend breaches the thresholds in SpilloverConfig.
+	 */
+	ADAPTIVE {
+		public void apply(BackendTypeVisitor visitor) {
+			visitor.adaptive();
+		}
 	};
 
 	public abstract void apply(BackendTypeVisitor var1);
@@ -36,5 +45,12 @@ public enum BackendType {
 		void sync();
 
 		void queued();
+
+		/*
+			Defaults to sync so that visitors written before ADAPTIVE existed keep compiling.
+		 */
+		default void adaptive() {
+			sync();
+		}
 	}
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+
+/**
+ * AIMD concurrency limit for a single backend. The limit grows by one on every successful send while at least half of
+ * it is in use, and is multiplied by backoffRatio whenever a send fails or takes longer than latencyThresholdMs.
+ * A maxWaitMs of 0 sheds excess load immediately, anything higher queues the caller for up to that long.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConcurrencyLimitConfig {
+	@Builder.Default
+	boolean enabled = false;
+	@Min(1)
+	@Builder.Default
+	int initialLimit = 20;
+	@Min(1)
+	@Builder.Default
+	int minLimit = 1;
+	@Min(1)
+	@Builder.Default
+	int maxLimit = 200;
+	@Builder.Default
+	double backoffRatio = 0.9;
+	@Builder.Default
+	long latencyThresholdMs = 1000;
+	@Builder.Default
+	long maxWaitMs = 0;
+}
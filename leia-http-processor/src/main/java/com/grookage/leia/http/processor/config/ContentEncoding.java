@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.config;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+	Content-Encoding applied to request bodies sent to a backend. ZSTD needs com.github.luben:zstd-jni on the classpath.
+ */
+@AllArgsConstructor
+@Getter
+public enum ContentEncoding {
+
+	IDENTITY(null) {
+		public OutputStream encode(OutputStream outputStream) {
+			return outputStream;
+		}
+	},
+
+	GZIP("gzip") {
+		public OutputStream encode(OutputStream outputStream) throws IOException {
+			return new GZIPOutputStream(outputStream);
+		}
+	},
+
+	ZSTD("zstd") {
+		public OutputStream encode(OutputStream outputStream) throws IOException {
+			return new ZstdOutputStream(outputStream);
+		}
+	};
+
+	private final String headerValue;
+
+	public abstract OutputStream encode(OutputStream outputStream) throws IOException;
+}
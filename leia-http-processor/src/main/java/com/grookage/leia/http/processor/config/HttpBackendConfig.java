@@ -18,6 +18,7 @@ package com.grookage.leia.http.processor.config;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.grookage.leia.mux.breaker.CircuitBreakerConfig;
 import lombok.Builder;
 import lombok.Data;
 import lombok.ToString;
@@ -38,6 +39,7 @@ public class HttpBackendConfig {
 	String host;
 	int port;
 	boolean secure;
+	boolean http2;
 	String uri;
 	String requestEnv;
 	@NotEmpty
@@ -48,14 +50,51 @@ public class HttpBackendConfig {
 	@Builder.Default
 	int retryCount = 3;
 	@Builder.Default
+	RetryConfig retryConfig = RetryConfig.builder().build();
+	@Builder.Default
+	ContentEncoding contentEncoding = ContentEncoding.IDENTITY;
+	@Builder.Default
 	String queuePath = "leia-messages";
 	@Builder.Default
+	String queuePermissions = "rwxrwxrwx";
+	@Builder.Default
+	QueueStorage queueStorage = QueueStorage.BIG_QUEUE;
+	@Builder.Default
+	SpilloverConfig spillover = SpilloverConfig.builder().build();
+	@Builder.Default
+	SegmentedLogConfig segmentedLog = SegmentedLogConfig.builder().build();
+	@Builder.Default
 	int queueThreshold = 5;
 	@Builder.Default
+	int queueMaxBatchSize = 500;
+	@Builder.Default
+	long queueTargetLatencyMs = 500;
+	@Builder.Default
+	int queueConsumers = 1;
+	@Builder.Default
+	int queueMaxInFlight = 4;
+	@Builder.Default
+	long queueStopTimeoutMs = 30_000;
+	@Builder.Default
+	QueueRecordFormat queueRecordFormat = QueueRecordFormat.JSON;
+	@Builder.Default
 	Map<String, String> headers = new HashMap<>();
+	ConcurrencyLimitConfig concurrencyLimit;
+	HttpPoolConfig pool;
+	CircuitBreakerConfig circuitBreaker;
 
 	@JsonIgnore
 	public boolean headersProvided() {
 		return null != headers && !headers.isEmpty();
 	}
+
+	@JsonIgnore
+	public boolean concurrencyLimited() {
+		return null != concurrencyLimit && concurrencyLimit.isEnabled();
+	}
+
+	@JsonIgnore
+	public boolean circuitBreakerEnabled() {
+		return null != circuitBreaker && circuitBreaker.isEnabled();
+	}
 }
@@ -27,7 +27,7 @@ import java.util.List;
 import java.util.Locale;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 @Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class HttpClientConfig {
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Connection pool overrides for a single backend. Every backend gets its own pool; any field left unset here falls
+ * back to the corresponding value on the {@link HttpClientConfig} passed to HttpClientUtils.initialize.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HttpPoolConfig {
+	Integer maxConnPerRoute;
+	Integer maxConnTotal;
+	Integer operationTimeout;
+	Long connectionTimeoutMs;
+	Long validateAfterInactivityMs;
+	Long ttlMs;
+	Long idleConnEvictMs;
+}
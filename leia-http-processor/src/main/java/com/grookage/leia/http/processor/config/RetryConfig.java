@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Backoff and budget for retrying sends to a backend. The number of attempts itself is HttpBackendConfig.retryCount.
+ * Delays are drawn uniformly from [0, min(maxDelayMs, baseDelayMs * 2^(attempt - 1))], and a Retry-After sent by the
+ * backend is honoured up to maxRetryAfterMs. Within every budgetWindowMs, retries are capped at
+ * minRetriesPerWindow + budgetRatio * requests made in that window.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RetryConfig {
+	@Builder.Default
+	long baseDelayMs = 100;
+	@Builder.Default
+	long maxDelayMs = 5_000;
+	@Builder.Default
+	long maxRetryAfterMs = 30_000;
+	@Builder.Default
+	double budgetRatio = 0.2;
+	@Builder.Default
+	int minRetriesPerWindow = 10;
+	@Builder.Default
+	long budgetWindowMs = 10_000;
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.grookage.leia.http.processor.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Settings for the built-in segmented queue log. Segments are pre-allocated to segmentSizeBytes and memory-mapped,
+ * so a single record can't be larger than a segment. See {@link FsyncPolicy} for the durability trade-offs.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SegmentedLogConfig {
+	@Min(1024)
+	@Builder.Default
+	int segmentSizeBytes = 64 * 1024 * 1024;
+	@Builder.Default
+	FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+	@Builder.Default
+	long fsyncIntervalMs = 1000;
+	@Min(1)
+	@Builder.Default
+	int fsyncEveryRecords = 1000;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.grookage.leia.http.processor.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Thresholds for {@link BackendType#ADAPTIVE}. Over the last windowSize sends, once at least minimumCalls have been
+ * seen, the backend spills to the queue if the share of failed sends exceeds errorRateThreshold or the share of sends
+ * slower than latencyThresholdMs exceeds slowCallRateThreshold. It goes back to sync sends once it is within both
+ * thresholds again and the queue has fully drained.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SpilloverConfig {
+	@Min(1)
+	@Builder.Default
+	int windowSize = 100;
+	@Min(1)
+	@Builder.Default
+	int minimumCalls = 20;
+	@Builder.Default
+	long latencyThresholdMs = 1000;
+	@Builder.Default
+	double slowCallRateThreshold = 0.5;
+	@Builder.Default
+	double errorRateThreshold = 0.2;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.exception;
+
+import lombok.Getter;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+	A non-2xx response from a backend, along with the Retry-After it asked for (in millis, -1 when absent).
+ */
+@Getter
+public class BackendResponseException extends HttpResponseException {
+
+	private final long retryAfterMs;
+
+	public BackendResponseException(int statusCode, String reasonPhrase, long retryAfterMs) {
+		super(statusCode, reasonPhrase);
+		this.retryAfterMs = retryAfterMs;
+	}
+
+	public static BackendResponseException of(final HttpResponse response) {
+		return new BackendResponseException(response.getCode(), response.getReasonPhrase(), getRetryAfterMs(response));
+	}
+
+	private static long getRetryAfterMs(final HttpResponse response) {
+		final var header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+		if (null == header || null == header.getValue()) {
+			return -1;
+		}
+		final var value = header.getValue().trim();
+		try {
+			return Math.max(0, Long.parseLong(value) * 1000);
+		} catch (NumberFormatException e) {
+			final var retryAt = DateUtils.parseStandardDate(value);
+			return null == retryAt ? -1 : Math.max(0, Duration.between(Instant.now(), retryAt).toMillis());
+		}
+	}
+}
@@ -26,7 +26,9 @@ public enum LeiaHttpErrorCode implements LeiaErrorCode {
 
 	EVENT_SEND_FAILED(500),
 
-	QUEUE_SEND_FAILED(500);
+	QUEUE_SEND_FAILED(500),
+
+	CONCURRENCY_LIMIT_EXCEEDED(429);
 
 	final int status;
 
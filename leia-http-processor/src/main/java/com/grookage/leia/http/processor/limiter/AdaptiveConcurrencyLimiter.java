@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.limiter;
+
+import com.google.common.base.Preconditions;
+import com.grookage.leia.http.processor.config.ConcurrencyLimitConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Additive-increase / multiplicative-decrease limiter on the number of in-flight sends to a backend.
+ * Callers pair every successful {@link #acquire()} with exactly one of {@link #onSuccess(long)} or {@link #onFailure()}.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+	private final String name;
+	private final ConcurrencyLimitConfig config;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = lock.newCondition();
+	private final AtomicLong rejectedCount = new AtomicLong();
+	private volatile double limit;
+	private volatile int inflight;
+
+	public AdaptiveConcurrencyLimiter(final String name, final ConcurrencyLimitConfig config) {
+		Preconditions.checkNotNull(config, "Concurrency limit config can't be null");
+		Preconditions.checkArgument(config.getMinLimit() <= config.getMaxLimit(), "minLimit can't be greater than maxLimit");
+		Preconditions.checkArgument(config.getBackoffRatio() > 0 && config.getBackoffRatio() < 1, "backoffRatio should be between 0 and 1");
+		this.name = name;
+		this.config = config;
+		this.limit = Math.min(config.getMaxLimit(), Math.max(config.getMinLimit(), config.getInitialLimit()));
+	}
+
+	public boolean acquire() {
+		lock.lock();
+		try {
+			var remainingNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMs());
+			while (inflight >= getLimit()) {
+				if (remainingNanos <= 0) {
+					rejectedCount.incrementAndGet();
+					log.debug("Concurrency limit {} reached for backend {}, shedding the request", getLimit(), name);
+					return false;
+				}
+				remainingNanos = released.awaitNanos(remainingNanos);
+			}
+			inflight++;
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			rejectedCount.incrementAndGet();
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onSuccess(final long latencyMs) {
+		release(latencyMs > config.getLatencyThresholdMs());
+	}
+
+	public void onFailure() {
+		release(true);
+	}
+
+	private void release(final boolean dropped) {
+		lock.lock();
+		try {
+			if (dropped) {
+				limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+			} else if (inflight * 2 >= limit) {
+				limit = Math.min(config.getMaxLimit(), limit + 1);
+			}
+			inflight--;
+			released.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInflight() {
+		return inflight;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+}
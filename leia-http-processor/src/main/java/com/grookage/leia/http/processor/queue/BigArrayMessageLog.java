@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.grookage.leia.http.processor.queue;
+
+import com.leansoft.bigqueue.BigArrayImpl;
+import com.leansoft.bigqueue.IBigArray;
+
+import java.io.IOException;
+
+/*
+	MessageLog over the BigQueue library's array, reading the same directory layout a BigQueueImpl would.
+ */
+public class BigArrayMessageLog implements MessageLog {
+
+	private final IBigArray bigArray;
+
+	public BigArrayMessageLog(final String queuePath, final String name) throws IOException {
+		this.bigArray = new BigArrayImpl(queuePath, name);
+	}
+
+	@Override
+	public long append(byte[] data) throws IOException {
+		return bigArray.append(data);
+	}
+
+	@Override
+	public byte[] get(long index) throws IOException {
+		return bigArray.get(index);
+	}
+
+	@Override
+	public long getHeadIndex() {
+		return bigArray.getHeadIndex();
+	}
+
+	@Override
+	public long getTailIndex() {
+		return bigArray.getTailIndex();
+	}
+
+	@Override
+	public void removeBeforeIndex(long index) throws IOException {
+		try {
+			bigArray.removeBeforeIndex(index);
+		} catch (IndexOutOfBoundsException e) {
+			//Nothing to remove yet, index is the next one to be appended
+		}
+	}
+
+	@Override
+	public long getDiskUsageBytes() {
+		try {
+			return bigArray.getBackFileSize();
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		bigArray.close();
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+
+/*
+	Durable read position of a queue. Batches are registered when they are read and completed whenever their send
+	finishes, in any order; the persisted cursor only moves past a batch once every batch before it has completed
+	too. Anything beyond the cursor is read again after a restart, which makes delivery at-least-once.
+	A stored cursor is clamped to the entries the log holds when it is opened. Recovery may have cut off a torn tail,
+	or the log files may have been deleted, and a cursor left ahead of the head would skip the entries written next.
+ */
+@Slf4j
+public class CommitCursor implements Closeable {
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+	private final TreeMap<Long, Long> pending = new TreeMap<>();
+	private final TreeMap<Long, Long> completed = new TreeMap<>();
+	private volatile long committed;
+
+	public CommitCursor(final Path path, final long tailIndex, final long headIndex) throws IOException {
+		final var exists = Files.exists(path);
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		if (exists && channel.size() >= Long.BYTES) {
+			channel.read(buffer, 0);
+			buffer.flip();
+			final var stored = buffer.getLong();
+			this.committed = Math.min(Math.max(stored, tailIndex), headIndex);
+			if (committed != stored) {
+				log.warn("Commit cursor {} was at {}, outside the log's entries [{}, {}), moving it to {}",
+						path, stored, tailIndex, headIndex, committed);
+				persist(committed);
+			}
+		} else {
+			this.committed = tailIndex;
+			persist(tailIndex);
+		}
+	}
+
+	private void persist(final long index) throws IOException {
+		buffer.clear();
+		buffer.putLong(index).flip();
+		channel.write(buffer, 0);
+		channel.force(false);
+	}
+
+	public long getCommitted() {
+		return committed;
+	}
+
+	public synchronized void begin(final long startIndex, final long endIndex) {
+		pending.put(startIndex, endIndex);
+	}
+
+	/*
+		Marks the batch starting at startIndex as done and persists the cursor if that unblocks it.
+	 */
+	public synchronized void complete(final long startIndex) throws IOException {
+		final var endIndex = pending.remove(startIndex);
+		if (null == endIndex) {
+			return;
+		}
+		completed.put(startIndex, endIndex);
+		var next = committed;
+		while (!completed.isEmpty() && completed.firstKey() == next) {
+			next = completed.pollFirstEntry().getValue();
+		}
+		if (next != committed) {
+			persist(next);
+			committed = next;
+		}
+	}
+
+	public synchronized int getPendingBatches() {
+		return pending.size() + completed.size();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+}
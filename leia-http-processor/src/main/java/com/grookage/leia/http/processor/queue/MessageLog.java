@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.grookage.leia.http.processor.queue;
+
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.QueueStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+	Append-only, index-addressed storage behind QueuedSender. Indexes are assigned sequentially from getHeadIndex,
+	and entries before getTailIndex have been reclaimed.
+ */
+public interface MessageLog extends Closeable {
+
+	long append(byte[] data) throws IOException;
+
+	byte[] get(long index) throws IOException;
+
+	long getHeadIndex();
+
+	long getTailIndex();
+
+	/*
+		Allows storage holding only entries before index to be reclaimed. Implementations may keep some of them around.
+	 */
+	void removeBeforeIndex(long index) throws IOException;
+
+	long getDiskUsageBytes();
+
+	private static QueueStorage getStorage(final HttpBackendConfig backendConfig) {
+		return null == backendConfig.getQueueStorage() ? QueueStorage.BIG_QUEUE : backendConfig.getQueueStorage();
+	}
+
+	static MessageLog open(final HttpBackendConfig backendConfig) throws IOException {
+		return switch (getStorage(backendConfig)) {
+			case BIG_QUEUE -> new BigArrayMessageLog(backendConfig.getQueuePath(), backendConfig.getBackendName());
+			case SEGMENTED_LOG -> new SegmentedMessageLog(
+					Paths.get(backendConfig.getQueuePath(), backendConfig.getBackendName() + "-log"),
+					backendConfig.getSegmentedLog());
+		};
+	}
+
+	/*
+		Each storage keeps its own cursor, indexes of one mean nothing to the other.
+	 */
+	static Path cursorPath(final HttpBackendConfig backendConfig) {
+		return switch (getStorage(backendConfig)) {
+			case BIG_QUEUE -> Paths.get(backendConfig.getQueuePath(), backendConfig.getBackendName() + ".cursor");
+			case SEGMENTED_LOG -> Paths.get(backendConfig.getQueuePath(), backendConfig.getBackendName() + "-log", "commit.cursor");
+		};
+	}
+}
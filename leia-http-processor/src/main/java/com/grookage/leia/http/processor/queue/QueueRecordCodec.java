@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.grookage.leia.http.processor.config.QueueRecordFormat;
+import com.grookage.leia.models.mux.LeiaMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+	Encodes queue entries. Binary records are framed as [MAGIC, version, payload]. Version 1 carries a Smile document
+	with shared property names and string values, so the schema keys and tags repeated across messages are written
+	once per entry and back-referenced after that. Entries without the frame are legacy JSON arrays.
+ */
+public class QueueRecordCodec {
+
+	static final byte MAGIC = (byte) 0xAE;
+	static final byte SMILE_VERSION = 1;
+
+	private final QueueRecordFormat format;
+	private final ObjectWriter jsonWriter;
+	private final ObjectReader jsonReader;
+	private final ObjectWriter smileWriter;
+	private final ObjectReader smileReader;
+
+	public QueueRecordCodec(final ObjectMapper mapper, final QueueRecordFormat format) {
+		final var smileMapper = mapper.copyWith(SmileFactory.builder()
+				.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+				.build());
+		final JavaType messagesType = mapper.getTypeFactory().constructCollectionType(List.class, LeiaMessage.class);
+		this.format = null == format ? QueueRecordFormat.JSON : format;
+		this.jsonWriter = mapper.writerFor(messagesType);
+		this.jsonReader = mapper.readerFor(messagesType);
+		this.smileWriter = smileMapper.writerFor(messagesType);
+		this.smileReader = smileMapper.readerFor(messagesType);
+	}
+
+	public byte[] encode(final List<LeiaMessage> messages) throws IOException {
+		if (format == QueueRecordFormat.JSON) {
+			return jsonWriter.writeValueAsBytes(messages);
+		}
+		final var payload = smileWriter.writeValueAsBytes(messages);
+		final var record = new byte[payload.length + 2];
+		record[0] = MAGIC;
+		record[1] = SMILE_VERSION;
+		System.arraycopy(payload, 0, record, 2, payload.length);
+		return record;
+	}
+
+	public List<LeiaMessage> decode(final byte[] record) throws IOException {
+		if (record.length < 2 || record[0] != MAGIC) {
+			return jsonReader.readValue(record);
+		}
+		if (record[1] == SMILE_VERSION) {
+			return smileReader.readValue(record, 2, record.length - 2);
+		}
+		throw new IOException("Unsupported queue record version " + record[1]);
+	}
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.grookage.leia.http.processor.config.FsyncPolicy;
+import com.grookage.leia.http.processor.config.SegmentedLogConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/*
+	Memory-mapped, segmented append log. Each segment is a file pre-allocated to segmentSizeBytes and named after the
+	index of its first record. Records are laid out as [length, crc32c, payload]; a zero length marks the end of the
+	written part of a segment. On open, every segment is scanned and the log is cut at the first record that is
+	truncated or fails its CRC, which is what a torn write at crash time looks like.
+	Segments are unmapped as soon as they are deleted or the log is closed, rather than whenever their buffers happen
+	to be collected. Every access goes through this log's monitor and fails once it is closed, so an unmapped buffer
+	is never touched again.
+ */
+@Slf4j
+public class SegmentedMessageLog implements MessageLog {
+
+	private static final String SEGMENT_SUFFIX = ".segment";
+	private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+	private final Path directory;
+	private final SegmentedLogConfig config;
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final ScheduledExecutorService fsyncScheduler;
+	private Segment activeSegment;
+	private long headIndex;
+	private int unsyncedRecords;
+	private boolean closed;
+
+	public SegmentedMessageLog(final Path directory, final SegmentedLogConfig config) throws IOException {
+		Preconditions.checkArgument(config.getSegmentSizeBytes() > HEADER_BYTES, "segmentSizeBytes is too small");
+		this.directory = directory;
+		this.config = config;
+		Files.createDirectories(directory);
+		recover();
+		if (config.getFsyncPolicy() == FsyncPolicy.INTERVAL) {
+			this.fsyncScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+					.setNameFormat("leia-log-fsync-%d")
+					.setDaemon(true)
+					.build());
+			fsyncScheduler.scheduleWithFixedDelay(this::sync, config.getFsyncIntervalMs(),
+					config.getFsyncIntervalMs(), TimeUnit.MILLISECONDS);
+		} else {
+			this.fsyncScheduler = null;
+		}
+	}
+
+	private void recover() throws IOException {
+		try (final var files = Files.list(directory)) {
+			final var segmentFiles = files.filter(each -> each.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.sorted()
+					.toList();
+			var recovered = 0;
+			for (final var segmentFile : segmentFiles) {
+				final var fileName = segmentFile.getFileName().toString();
+				final var baseIndex = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+				if (null != activeSegment && baseIndex != activeSegment.nextIndex()) {
+					log.warn("Segment {} doesn't follow {}", segmentFile, activeSegment.path);
+					break;
+				}
+				final var segment = Segment.open(segmentFile, baseIndex, config.getSegmentSizeBytes());
+				segments.put(baseIndex, segment);
+				activeSegment = segment;
+				recovered++;
+				if (segment.isTruncated()) {
+					break;
+				}
+			}
+			//Anything past a gap or a corrupt record can't be trusted, and would clash with segments written from here on
+			for (final var staleFile : segmentFiles.subList(recovered, segmentFiles.size())) {
+				log.warn("Deleting segment {} found after the recovered end of log {}", staleFile, directory);
+				Files.deleteIfExists(staleFile);
+			}
+		}
+		if (null == activeSegment) {
+			activeSegment = Segment.create(segmentPath(0), 0, config.getSegmentSizeBytes());
+			segments.put(0L, activeSegment);
+		}
+		headIndex = activeSegment.nextIndex();
+		log.info("Recovered log {} with {} segments, entries [{}, {})", directory, segments.size(), getTailIndex(), headIndex);
+	}
+
+	private Path segmentPath(final long baseIndex) {
+		return directory.resolve(String.format("%020d%s", baseIndex, SEGMENT_SUFFIX));
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Log " + directory + " is closed");
+		}
+	}
+
+	@Override
+	public synchronized long append(final byte[] data) throws IOException {
+		ensureOpen();
+		final var recordBytes = HEADER_BYTES + data.length;
+		if (recordBytes > config.getSegmentSizeBytes()) {
+			throw new IOException("Record of " + data.length + " bytes doesn't fit in a segment of "
+					+ config.getSegmentSizeBytes() + " bytes");
+		}
+		if (!activeSegment.hasRoomFor(recordBytes)) {
+			activeSegment.force();
+			activeSegment = Segment.create(segmentPath(headIndex), headIndex, config.getSegmentSizeBytes());
+			segments.put(headIndex, activeSegment);
+		}
+		activeSegment.append(data);
+		final var index = headIndex++;
+		if (config.getFsyncPolicy() == FsyncPolicy.EVERY_N && ++unsyncedRecords >= config.getFsyncEveryRecords()) {
+			activeSegment.force();
+			unsyncedRecords = 0;
+		}
+		return index;
+	}
+
+	@Override
+	public synchronized byte[] get(final long index) throws IOException {
+		ensureOpen();
+		final var entry = segments.floorEntry(index);
+		if (null == entry || index >= headIndex) {
+			throw new IndexOutOfBoundsException("Index " + index + " is outside [" + getTailIndex() + ", " + headIndex + ")");
+		}
+		return entry.getValue().read((int) (index - entry.getKey()));
+	}
+
+	public synchronized void sync() {
+		if (closed) {
+			return;
+		}
+		try {
+			activeSegment.force();
+		} catch (Exception e) {
+			log.error("Couldn't fsync segment {}", activeSegment.path, e);
+		}
+	}
+
+	@Override
+	public synchronized long getHeadIndex() {
+		return headIndex;
+	}
+
+	@Override
+	public synchronized long getTailIndex() {
+		return segments.firstKey();
+	}
+
+	/*
+		Deletes whole segments that only hold entries before index. The active segment is always kept.
+	 */
+	@Override
+	public synchronized void removeBeforeIndex(final long index) throws IOException {
+		ensureOpen();
+		final var iterator = segments.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<Long, Segment> entry = iterator.next();
+			final var segment = entry.getValue();
+			if (segment == activeSegment || segment.nextIndex() > index) {
+				break;
+			}
+			iterator.remove();
+			segment.unmap();
+			Files.deleteIfExists(segment.path);
+		}
+	}
+
+	@Override
+	public synchronized long getDiskUsageBytes() {
+		return (long) segments.size() * config.getSegmentSizeBytes();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		if (null != fsyncScheduler) {
+			fsyncScheduler.shutdown();
+		}
+		activeSegment.force();
+		closed = true;
+		segments.values().forEach(Segment::unmap);
+	}
+
+	/*
+		Unsafe.invokeCleaner is the only way to release a mapping before the buffer is garbage collected. Without it
+		(another JVM), segments are left to the collector as before.
+	 */
+	private static final class Unmapper {
+		private static final Object UNSAFE;
+		private static final Method INVOKE_CLEANER;
+
+		static {
+			Object unsafe = null;
+			Method invokeCleaner = null;
+			try {
+				final var unsafeClass = Class.forName("sun.misc.Unsafe");
+				final var field = unsafeClass.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				unsafe = field.get(null);
+				invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (Exception e) {
+				log.warn("Can't unmap log segments explicitly, leaving them to the garbage collector", e);
+			}
+			UNSAFE = unsafe;
+			INVOKE_CLEANER = invokeCleaner;
+		}
+
+		static void unmap(final MappedByteBuffer buffer) {
+			if (null == INVOKE_CLEANER) {
+				return;
+			}
+			try {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+			} catch (Exception e) {
+				log.warn("Couldn't unmap a log segment", e);
+			}
+		}
+	}
+
+	private static class Segment {
+		private final Path path;
+		private final long baseIndex;
+		private final MappedByteBuffer buffer;
+		private int[] offsets = new int[1024];
+		private int count;
+		private int writePosition;
+		private boolean truncated;
+
+		private Segment(final Path path, final long baseIndex, final int size) throws IOException {
+			this.path = path;
+			this.baseIndex = baseIndex;
+			try (final var file = new RandomAccessFile(path.toFile(), "rw")) {
+				if (file.length() < size) {
+					file.setLength(size);
+				}
+				//The mapping stays valid after the file is closed
+				this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			}
+		}
+
+		static Segment create(final Path path, final long baseIndex, final int size) throws IOException {
+			Files.deleteIfExists(path);
+			return new Segment(path, baseIndex, size);
+		}
+
+		static Segment open(final Path path, final long baseIndex, final int size) throws IOException {
+			final var segment = new Segment(path, baseIndex, size);
+			segment.scan();
+			return segment;
+		}
+
+		/*
+			Walks the records from the start of the segment, stopping at the end marker or the first bad record.
+			Everything from a bad record onwards is zeroed out, so that neither a later scan nor a stale record that
+			happens to line up with a new one can bring it back.
+		 */
+		private void scan() {
+			final var capacity = buffer.capacity();
+			var position = 0;
+			while (position + HEADER_BYTES <= capacity) {
+				final var length = buffer.getInt(position);
+				if (length == 0) {
+					break;
+				}
+				final var checksum = buffer.getInt(position + Integer.BYTES);
+				if (length < 0 || position + HEADER_BYTES + length > capacity
+						|| checksum != crc(position + HEADER_BYTES, length)) {
+					log.warn("Found a corrupt record at offset {} of segment {}, truncating it", position, path);
+					buffer.put(position, new byte[capacity - position]);
+					truncated = true;
+					break;
+				}
+				addOffset(position);
+				position += HEADER_BYTES + length;
+			}
+			writePosition = position;
+		}
+
+		private int crc(final int position, final int length) {
+			final var crc = new CRC32C();
+			crc.update(buffer.slice(position, length));
+			return (int) crc.getValue();
+		}
+
+		private void addOffset(final int position) {
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+			}
+			offsets[count++] = position;
+		}
+
+		boolean isTruncated() {
+			return truncated;
+		}
+
+		long nextIndex() {
+			return baseIndex + count;
+		}
+
+		boolean hasRoomFor(final int recordBytes) {
+			return !truncated && writePosition + recordBytes <= buffer.capacity();
+		}
+
+		void append(final byte[] data) {
+			final var crc = new CRC32C();
+			crc.update(data);
+			buffer.put(writePosition + HEADER_BYTES, data);
+			buffer.putInt(writePosition + Integer.BYTES, (int) crc.getValue());
+			//The length goes in last, a record only exists once its length is set
+			buffer.putInt(writePosition, data.length);
+			addOffset(writePosition);
+			writePosition += HEADER_BYTES + data.length;
+		}
+
+		byte[] read(final int position) {
+			if (position >= count) {
+				throw new IndexOutOfBoundsException("Index " + (baseIndex + position) + " isn't in segment " + path);
+			}
+			final var offset = offsets[position];
+			final var data = new byte[buffer.getInt(offset)];
+			buffer.get(offset + HEADER_BYTES, data);
+			return data;
+		}
+
+		void force() {
+			buffer.force();
+		}
+
+		void unmap() {
+			Unmapper.unmap(buffer);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.request;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.grookage.leia.http.processor.config.ContentEncoding;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/*
+	Repeatable JSON request body. Without a content encoding, the payload is serialized straight onto the connection on
+	every write, so no intermediate array is allocated. With gzip / zstd, it is serialized through the encoder exactly
+	once and the compressed bytes are reused across retries.
+ */
+public class JsonRequestEntity extends AbstractHttpEntity {
+
+	private final ObjectWriter writer;
+	private final Object payload;
+	private final byte[] encoded;
+
+	private JsonRequestEntity(final ObjectWriter writer,
+	                          final Object payload,
+	                          final byte[] encoded,
+	                          final ContentEncoding contentEncoding) {
+		super(ContentType.APPLICATION_JSON, contentEncoding.getHeaderValue(), null == encoded);
+		this.writer = writer;
+		this.payload = payload;
+		this.encoded = encoded;
+	}
+
+	public static JsonRequestEntity of(final ObjectMapper mapper,
+	                                   final Object payload,
+	                                   final ContentEncoding contentEncoding) throws IOException {
+		final var writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		final var encoding = null == contentEncoding ? ContentEncoding.IDENTITY : contentEncoding;
+		final byte[] encoded = encoding == ContentEncoding.IDENTITY ? null : encode(writer, payload, encoding);
+		return new JsonRequestEntity(writer, payload, encoded, encoding);
+	}
+
+	public static byte[] encode(final ObjectWriter writer,
+	                            final Object payload,
+	                            final ContentEncoding contentEncoding) throws IOException {
+		final var outputStream = new ByteArrayOutputStream();
+		try (final var encodedStream = contentEncoding.encode(outputStream)) {
+			writer.writeValue(encodedStream, payload);
+		}
+		return outputStream.toByteArray();
+	}
+
+	public byte[] toByteArray() throws IOException {
+		return null == encoded ? writer.writeValueAsBytes(payload) : encoded;
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		return null == encoded ? -1 : encoded.length;
+	}
+
+	@Override
+	public InputStream getContent() throws IOException {
+		return new ByteArrayInputStream(toByteArray());
+	}
+
+	@Override
+	public void writeTo(final OutputStream outStream) throws IOException {
+		if (null == encoded) {
+			writer.writeValue(outStream, payload);
+		} else {
+			outStream.write(encoded);
+		}
+		outStream.flush();
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+	@Override
+	public void close() {
+		//Nothing to release, the payload is held in memory
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.request;
+
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
+import com.grookage.leia.http.processor.utils.HttpRequestUtils;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.models.schema.SchemaKey;
+import lombok.Getter;
+import org.apache.hc.core5.http.message.BasicHeader;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+	Everything about a send that only depends on the backend: the resolved URI, the static headers and the message
+	signatures, which are a function of the backend's hasher and the message's SchemaKey alone. Executors keep one
+	plan per backend and build a fresh one whenever matches() says the config or the end point has changed.
+ */
+@Getter
+public class SendPlan {
+
+	private static final int MAX_CACHED_SIGNATURES = 10_000;
+
+	private final String backendName;
+	private final String hasher;
+	private final Map<String, String> configuredHeaders;
+	private final LeiaHttpEndPoint endPoint;
+	private final URI uri;
+	private final BasicHeader[] headers;
+	private final Map<SignatureKey, String> signatures = new ConcurrentHashMap<>();
+
+	/*
+		SchemaKey's own hashCode/equals rebuild the upper-cased reference id on every call, so the cache is keyed on
+		its raw fields instead. Keys differing only in case just end up as separate entries with the same signature.
+	 */
+	private record SignatureKey(String orgId, String namespace, String tenantId, String schemaName, String version) {
+		static SignatureKey of(final SchemaKey schemaKey) {
+			return new SignatureKey(schemaKey.getOrgId(), schemaKey.getNamespace(), schemaKey.getTenantId(),
+					schemaKey.getSchemaName(), schemaKey.getVersion());
+		}
+	}
+
+	private SendPlan(final HttpBackendConfig backendConfig, final LeiaHttpEndPoint endPoint) {
+		this.backendName = backendConfig.getBackendName();
+		this.hasher = backendConfig.getHasher();
+		this.configuredHeaders = backendConfig.headersProvided() ? new HashMap<>(backendConfig.getHeaders()) : Map.of();
+		this.endPoint = LeiaHttpEndPoint.builder()
+				.host(endPoint.getHost())
+				.port(endPoint.getPort())
+				.secure(endPoint.isSecure())
+				.uri(endPoint.getUri())
+				.build();
+		this.uri = HttpRequestUtils.toUri(endPoint);
+		this.headers = HttpRequestUtils.toHeaders(backendConfig);
+	}
+
+	public static SendPlan of(final HttpBackendConfig backendConfig, final LeiaHttpEndPoint endPoint) {
+		return new SendPlan(backendConfig, endPoint);
+	}
+
+	public boolean matches(final HttpBackendConfig backendConfig, final LeiaHttpEndPoint endPoint) {
+		return Objects.equals(backendName, backendConfig.getBackendName()) &&
+				Objects.equals(hasher, backendConfig.getHasher()) &&
+				this.endPoint.equals(endPoint) &&
+				configuredHeaders.equals(backendConfig.headersProvided() ? backendConfig.getHeaders() : Map.of());
+	}
+
+	public String getSignature(final LeiaMessage message) {
+		final var schemaKey = message.getSchemaKey();
+		final var signatureKey = SignatureKey.of(schemaKey);
+		final var signature = signatures.get(signatureKey);
+		if (null != signature) {
+			return signature;
+		}
+		if (signatures.size() >= MAX_CACHED_SIGNATURES) {
+			signatures.clear();
+		}
+		return signatures.computeIfAbsent(signatureKey, key -> HttpRequestUtils.getMessageSignature(message, hasher));
+	}
+
+	public LeiaHttpEntity toHttpEntity(final List<LeiaMessage> messages) {
+		return new LeiaHttpEntity(messages.stream()
+				.map(each -> new LeiaMessageEntity(getSignature(each), backendName, each))
+				.toList());
+	}
+}
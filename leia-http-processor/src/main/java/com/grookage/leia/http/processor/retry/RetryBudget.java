@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.retry;
+
+import com.grookage.leia.http.processor.config.RetryConfig;
+
+/*
+	Caps retries to a fraction of the requests seen in the current window, so that a failing backend sees at most
+	(1 + budgetRatio) times its normal traffic, rather than retryCount times.
+ */
+public class RetryBudget {
+
+	private final RetryConfig retryConfig;
+	private long windowStart;
+	private long requests;
+	private long retries;
+
+	public RetryBudget(final RetryConfig retryConfig) {
+		this.retryConfig = retryConfig;
+		this.windowStart = System.currentTimeMillis();
+	}
+
+	private void rotate() {
+		final var now = System.currentTimeMillis();
+		if (now - windowStart >= retryConfig.getBudgetWindowMs()) {
+			windowStart = now;
+			requests = 0;
+			retries = 0;
+		}
+	}
+
+	public synchronized void onRequest() {
+		rotate();
+		requests++;
+	}
+
+	public synchronized boolean tryAcquireRetry() {
+		rotate();
+		if (retries >= retryConfig.getMinRetriesPerWindow() + retryConfig.getBudgetRatio() * requests) {
+			return false;
+		}
+		retries++;
+		return true;
+	}
+
+	public synchronized long getRetries() {
+		return retries;
+	}
+}
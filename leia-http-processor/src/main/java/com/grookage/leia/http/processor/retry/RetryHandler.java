@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.retry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.grookage.leia.http.processor.config.RetryConfig;
+import com.grookage.leia.http.processor.exception.BackendResponseException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+	Retries a send with capped exponential backoff and full jitter, within the backend's RetryBudget. Only 5xx
+	responses, and 429s carrying a Retry-After, are retried. Backoff is scheduled rather than slept, so no thread is
+	held while waiting for the next attempt.
+ */
+@Slf4j
+public class RetryHandler {
+
+	public static final Executor DEFAULT_RETRY_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("leia-http-retry-%d")
+			.setDaemon(true)
+			.build());
+
+	private final String name;
+	private final int maxAttempts;
+	private final RetryConfig retryConfig;
+	@Getter
+	private final RetryBudget retryBudget;
+	private final AtomicLong budgetExhaustedCount = new AtomicLong();
+
+	public RetryHandler(final String name, final int maxAttempts, final RetryConfig retryConfig) {
+		this.name = name;
+		this.maxAttempts = maxAttempts;
+		this.retryConfig = null == retryConfig ? RetryConfig.builder().build() : retryConfig;
+		this.retryBudget = new RetryBudget(this.retryConfig);
+	}
+
+	public static boolean isRetryable(final Throwable throwable) {
+		if (!(throwable instanceof BackendResponseException exception)) {
+			return false;
+		}
+		final var statusCode = exception.getStatusCode();
+		return statusCode >= HttpStatus.SC_SERVER_ERROR ||
+				(statusCode == HttpStatus.SC_TOO_MANY_REQUESTS && exception.getRetryAfterMs() >= 0);
+	}
+
+	public long getDelayMs(final int attempt, final Throwable throwable) {
+		final var ceiling = Math.min(retryConfig.getMaxDelayMs(),
+				retryConfig.getBaseDelayMs() * (1L << Math.min(attempt - 1, 30)));
+		final var delay = ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+		if (throwable instanceof BackendResponseException exception && exception.getRetryAfterMs() >= 0) {
+			return Math.max(delay, Math.min(exception.getRetryAfterMs(), retryConfig.getMaxRetryAfterMs()));
+		}
+		return delay;
+	}
+
+	/*
+		attempt is invoked once for the first try and once per retry; retries are started on retryExecutor once their
+		backoff has elapsed.
+	 */
+	public <R> CompletableFuture<R> execute(final Supplier<CompletableFuture<R>> attempt, final Executor retryExecutor) {
+		retryBudget.onRequest();
+		return execute(attempt, retryExecutor, 1);
+	}
+
+	private <R> CompletableFuture<R> execute(final Supplier<CompletableFuture<R>> attempt,
+	                                         final Executor retryExecutor,
+	                                         final int attemptNumber) {
+		return attempt.get()
+				.handle((response, throwable) -> {
+					if (null == throwable) {
+						return CompletableFuture.completedFuture(response);
+					}
+					final var cause = unwrap(throwable);
+					if (attemptNumber >= maxAttempts || !isRetryable(cause)) {
+						return CompletableFuture.<R>failedFuture(cause);
+					}
+					if (!retryBudget.tryAcquireRetry()) {
+						budgetExhaustedCount.incrementAndGet();
+						log.warn("Retry budget exhausted for backend {}, not retrying", name);
+						return CompletableFuture.<R>failedFuture(cause);
+					}
+					final var delayMs = getDelayMs(attemptNumber, cause);
+					log.debug("Attempt {} to backend {} failed with {}, retrying in {} ms", attemptNumber, name,
+							cause.getMessage(), delayMs);
+					return CompletableFuture.runAsync(() -> {
+							}, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, retryExecutor))
+							.thenCompose(ignored -> execute(attempt, retryExecutor, attemptNumber + 1));
+				})
+				.thenCompose(each -> each);
+	}
+
+	public long getBudgetExhaustedCount() {
+		return budgetExhaustedCount.get();
+	}
+
+	public static Throwable unwrap(final Throwable throwable) {
+		return throwable instanceof CompletionException && null != throwable.getCause()
+				? throwable.getCause()
+				: throwable;
+	}
+}
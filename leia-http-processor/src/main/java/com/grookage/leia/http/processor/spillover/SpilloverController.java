@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.grookage.leia.http.processor.spillover;
+
+import com.grookage.leia.http.processor.config.SpilloverConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/*
+	Decides, per send, whether an adaptive backend is sent to directly or spilled over to its queue. Outcomes of every
+	send (direct or drained) are kept in a sliding window. Once spilling, all sends go through the queue until the
+	window is healthy again and the queue has fully drained, so that direct sends never overtake queued ones.
+ */
+@Slf4j
+public class SpilloverController {
+
+	private final String name;
+	private final SpilloverConfig config;
+	private final LongSupplier backlogSupplier;
+	private final ReentrantReadWriteLock routingLock = new ReentrantReadWriteLock();
+	private final AtomicLong transitions = new AtomicLong();
+	private final boolean[] failedCalls;
+	private final boolean[] slowCalls;
+	private int position;
+	private int calls;
+	private int failures;
+	private int slowCallCount;
+	private volatile boolean spilling;
+
+	public SpilloverController(final String name, final SpilloverConfig config, final LongSupplier backlogSupplier) {
+		this.name = name;
+		this.config = null == config ? SpilloverConfig.builder().build() : config;
+		this.backlogSupplier = backlogSupplier;
+		this.failedCalls = new boolean[Math.max(1, this.config.getWindowSize())];
+		this.slowCalls = new boolean[failedCalls.length];
+	}
+
+	public synchronized void record(final long latencyMs, final boolean successful) {
+		if (calls == failedCalls.length) {
+			failures -= failedCalls[position] ? 1 : 0;
+			slowCallCount -= slowCalls[position] ? 1 : 0;
+		} else {
+			calls++;
+		}
+		failedCalls[position] = !successful;
+		slowCalls[position] = latencyMs > config.getLatencyThresholdMs();
+		failures += failedCalls[position] ? 1 : 0;
+		slowCallCount += slowCalls[position] ? 1 : 0;
+		position = (position + 1) % failedCalls.length;
+		if (!spilling && isUnhealthy()) {
+			log.warn("Backend {} breached its thresholds with error rate {} and slow call rate {}, spilling over to the queue",
+					name, getErrorRate(), getSlowCallRate());
+			spilling = true;
+			transitions.incrementAndGet();
+			reset();
+		}
+	}
+
+	private void reset() {
+		position = 0;
+		calls = 0;
+		failures = 0;
+		slowCallCount = 0;
+	}
+
+	private synchronized boolean isUnhealthy() {
+		return calls >= config.getMinimumCalls() &&
+				(getErrorRate() > config.getErrorRateThreshold() || getSlowCallRate() > config.getSlowCallRateThreshold());
+	}
+
+	private synchronized boolean isRecovered() {
+		return calls >= config.getMinimumCalls() && !isUnhealthy();
+	}
+
+	private void tryRecover() {
+		if (!spilling || !isRecovered() || backlogSupplier.getAsLong() > 0 || !routingLock.writeLock().tryLock()) {
+			return;
+		}
+		try {
+			//Re-checked under the write lock, no one can be enqueueing now
+			if (spilling && backlogSupplier.getAsLong() == 0) {
+				log.info("Backend {} has recovered and its queue has drained, switching back to sync sends", name);
+				synchronized (this) {
+					spilling = false;
+					reset();
+				}
+				transitions.incrementAndGet();
+			}
+		} finally {
+			routingLock.writeLock().unlock();
+		}
+	}
+
+	/*
+		Runs spill while spilling, otherwise returns direct. Enqueueing happens under the routing lock, so that the
+		switch back to direct sends can't slip in between the decision and the enqueue.
+	 */
+	public CompletableFuture<Void> route(final Supplier<CompletableFuture<Void>> direct, final Runnable spill) {
+		tryRecover();
+		routingLock.readLock().lock();
+		try {
+			if (spilling) {
+				spill.run();
+				return CompletableFuture.completedFuture(null);
+			}
+		} finally {
+			routingLock.readLock().unlock();
+		}
+		return direct.get();
+	}
+
+	public boolean isSpilling() {
+		return spilling;
+	}
+
+	public long getTransitions() {
+		return transitions.get();
+	}
+
+	public synchronized double getErrorRate() {
+		return calls == 0 ? 0 : (double) failures / calls;
+	}
+
+	public synchronized double getSlowCallRate() {
+		return calls == 0 ? 0 : (double) slowCallCount / calls;
+	}
+}
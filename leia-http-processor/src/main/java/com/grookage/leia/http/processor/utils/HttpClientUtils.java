@@ -1,16 +1,23 @@
 package com.grookage.leia.http.processor.utils;
 
 import com.google.common.base.Preconditions;
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
 import com.grookage.leia.http.processor.config.HttpClientConfig;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
 import org.apache.hc.client5.http.fluent.Executor;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.TimeValue;
 
 import java.util.concurrent.TimeUnit;
@@ -19,8 +26,14 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class HttpClientUtils {
 	static Executor executor;
+	static HttpClientConfig defaultClientConfig;
 
+	/*
+		Besides building the shared Executor, this registers httpClientConfig as the defaults that every backend's
+		own pool is resolved against, see getClientConfig.
+	 */
 	public static void initialize(final HttpClientConfig httpClientConfig) {
+		defaultClientConfig = httpClientConfig;
 		executor = Executor.newInstance(getCloseableClient(httpClientConfig));
 	}
 
@@ -29,6 +42,32 @@ public class HttpClientUtils {
 		return executor;
 	}
 
+	/*
+		The settings for a backend's own pool: its HttpPoolConfig overrides on top of the config passed to
+		initialize, or on top of HttpClientConfig's defaults if initialize hasn't been called.
+	 */
+	public static HttpClientConfig getClientConfig(final HttpBackendConfig backendConfig) {
+		final var defaults = null != defaultClientConfig ? defaultClientConfig : HttpClientConfig.builder().build();
+		final var pool = backendConfig.getPool();
+		if (null == pool) {
+			return defaults;
+		}
+		return defaults.toBuilder()
+				.maxConnPerRoute(null != pool.getMaxConnPerRoute() ? pool.getMaxConnPerRoute() : defaults.getMaxConnPerRoute())
+				.maxConnTotal(null != pool.getMaxConnTotal() ? pool.getMaxConnTotal() : defaults.getMaxConnTotal())
+				.operationTimeout(null != pool.getOperationTimeout() ? pool.getOperationTimeout() : defaults.getOperationTimeout())
+				.connectionTimeoutMs(null != pool.getConnectionTimeoutMs() ? pool.getConnectionTimeoutMs() : defaults.getConnectionTimeoutMs())
+				.validateAfterInactivityMs(null != pool.getValidateAfterInactivityMs() ?
+						pool.getValidateAfterInactivityMs() : defaults.getValidateAfterInactivityMs())
+				.ttlMs(null != pool.getTtlMs() ? pool.getTtlMs() : defaults.getTtlMs())
+				.idleConnEvictMs(null != pool.getIdleConnEvictMs() ? pool.getIdleConnEvictMs() : defaults.getIdleConnEvictMs())
+				.build();
+	}
+
+	public static CloseableHttpClient getCloseableClient(final HttpBackendConfig backendConfig) {
+		return getCloseableClient(getClientConfig(backendConfig));
+	}
+
 	public static CloseableHttpClient getCloseableClient(final HttpClientConfig clientConfig) {
 		return HttpClientBuilder.create()
 				.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
@@ -54,4 +93,39 @@ public class HttpClientUtils {
 						.build())
 				.build();
 	}
+
+	/*
+		With http2 set, the connection manager negotiates HTTP/2 (prior knowledge on plain connections), so that
+		concurrent sends to a backend are multiplexed over a handful of connections instead of one per request.
+	 */
+	public static CloseableHttpAsyncClient getAsyncClient(final HttpBackendConfig backendConfig) {
+		final var clientConfig = getClientConfig(backendConfig);
+		final var http2 = backendConfig.isHttp2();
+		return HttpAsyncClients.custom()
+				.setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+						.useSystemProperties()
+						.setMaxConnPerRoute(clientConfig.getMaxConnPerRoute())
+						.setMaxConnTotal(clientConfig.getMaxConnTotal())
+						.setDefaultConnectionConfig(ConnectionConfig.custom()
+								.setConnectTimeout(clientConfig.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)
+								.setSocketTimeout(clientConfig.getOperationTimeout(), TimeUnit.MILLISECONDS)
+								.setValidateAfterInactivity(TimeValue.ofMilliseconds(clientConfig.getValidateAfterInactivityMs()))
+								.setTimeToLive(clientConfig.getTtlMs(), TimeUnit.MILLISECONDS)
+								.build())
+						.setDefaultTlsConfig(TlsConfig.custom()
+								.setVersionPolicy(http2 ? HttpVersionPolicy.FORCE_HTTP_2 : HttpVersionPolicy.FORCE_HTTP_1)
+								.build())
+						.build())
+				.setIOReactorConfig(IOReactorConfig.custom()
+						.setTcpNoDelay(true)
+						.setSoTimeout(clientConfig.getOperationTimeout(), TimeUnit.MILLISECONDS)
+						.build())
+				.useSystemProperties()
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.ofMilliseconds(clientConfig.getIdleConnEvictMs()))
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setResponseTimeout(clientConfig.getOperationTimeout(), TimeUnit.MILLISECONDS)
+						.build())
+				.build();
+	}
 }
@@ -19,11 +19,16 @@ package com.grookage.leia.http.processor.utils;
 import com.google.common.base.Joiner;
 import com.google.common.hash.Hashing;
 import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
 import com.grookage.leia.http.processor.request.LeiaHttpEntity;
 import com.grookage.leia.http.processor.request.LeiaMessageEntity;
 import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.net.URIBuilder;
 
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -46,4 +51,27 @@ public class HttpRequestUtils {
 										each))
 						.toList());
 	}
+
+	@SneakyThrows
+	public static URI toUri(final LeiaHttpEndPoint endPoint) {
+		return new URIBuilder()
+				.setScheme(endPoint.isSecure()
+						? "https"
+						: "http")
+				.setHost(endPoint.getHost())
+				.setPort(endPoint.getPort() == 0
+						? endPoint.defaultPort()
+						: endPoint.getPort())
+				.setPath(endPoint.getUri())
+				.build();
+	}
+
+	public static BasicHeader[] toHeaders(final HttpBackendConfig backendConfig) {
+		if (!backendConfig.headersProvided()) {
+			return new BasicHeader[0];
+		}
+		return backendConfig.getHeaders()
+				.entrySet().stream().map(each -> new BasicHeader(each.getKey(), each.getValue()))
+				.toArray(BasicHeader[]::new);
+	}
 }
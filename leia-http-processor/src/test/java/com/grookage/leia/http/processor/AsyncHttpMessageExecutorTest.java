@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.HttpClientConfig;
+import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
+import com.grookage.leia.http.processor.request.LeiaHttpEntity;
+import com.grookage.leia.http.processor.utils.HttpClientUtils;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+@WireMockTest
+@Slf4j
+class AsyncHttpMessageExecutorTest {
+
+	private static final int SENDS = 20;
+	private static final int BLOCKING_THREADS = 2;
+
+	private final List<Closeable> executors = new ArrayList<>();
+
+	@AfterEach
+	@SneakyThrows
+	void closeExecutors() {
+		for (final var executor : executors) {
+			executor.close();
+		}
+	}
+
+	private static Optional<LeiaHttpEndPoint> endPoint(HttpBackendConfig backendConfig, int port) {
+		return Optional.of(LeiaHttpEndPoint.builder()
+				.host("127.0.0.1")
+				.port(port)
+				.secure(backendConfig.isSecure())
+				.uri(backendConfig.getUri())
+				.build());
+	}
+
+	@Test
+	@SneakyThrows
+	void testAsyncThroughputAgainstBlockingExecutor(WireMockRuntimeInfo wireMockRuntimeInfo) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		HttpClientUtils.initialize(clientConfig);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		final var port = wireMockRuntimeInfo.getHttpPort();
+		backend.setPort(port);
+		backend.setUri("/ingest");
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		stubFor(post(urlEqualTo("/ingest"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withFixedDelay(100)));
+		final var failures = new AtomicInteger();
+
+		final var blockingExecutor = new HttpMessageExecutor<>(backend, () -> "Bearer 1234", ResourceHelper.getObjectMapper()) {
+			@Override
+			public void handleException(List<LeiaMessage> messages, Exception exception) {
+				failures.incrementAndGet();
+			}
+
+			@Override
+			public Object getRequestData(LeiaHttpEntity leiaHttpEntity) {
+				return leiaHttpEntity;
+			}
+
+			@Override
+			public Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig) {
+				return endPoint(backendConfig, port);
+			}
+		};
+		final var asyncExecutor = new AsyncHttpMessageExecutor<>(backend, () -> "Bearer 1234", ResourceHelper.getObjectMapper()) {
+			@Override
+			public void handleException(List<LeiaMessage> messages, Exception exception) {
+				failures.incrementAndGet();
+			}
+
+			@Override
+			public Object getRequestData(LeiaHttpEntity leiaHttpEntity) {
+				return leiaHttpEntity;
+			}
+
+			@Override
+			public Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig) {
+				return endPoint(backendConfig, port);
+			}
+		};
+		executors.add(blockingExecutor);
+		executors.add(asyncExecutor);
+		Assertions.assertTrue(asyncExecutor.isAsync());
+
+		final var threadPool = Executors.newFixedThreadPool(BLOCKING_THREADS);
+		var startTime = System.currentTimeMillis();
+		CompletableFuture.allOf(IntStream.range(0, SENDS)
+						.mapToObj(i -> CompletableFuture.runAsync(() -> blockingExecutor.send(messages), threadPool))
+						.toArray(CompletableFuture[]::new))
+				.get(30, TimeUnit.SECONDS);
+		final var blockingElapsed = System.currentTimeMillis() - startTime;
+		threadPool.shutdown();
+
+		startTime = System.currentTimeMillis();
+		CompletableFuture.allOf(IntStream.range(0, SENDS)
+						.mapToObj(i -> asyncExecutor.sendAsync(messages, Runnable::run))
+						.toArray(CompletableFuture[]::new))
+				.get(30, TimeUnit.SECONDS);
+		final var asyncElapsed = System.currentTimeMillis() - startTime;
+
+		log.info("{} sends took {} ms on {} blocking threads and {} ms on the async client",
+				SENDS, blockingElapsed, BLOCKING_THREADS, asyncElapsed);
+		Assertions.assertEquals(0, failures.get());
+		verify(SENDS * 2, postRequestedFor(urlEqualTo("/ingest")));
+		Assertions.assertTrue(asyncElapsed < blockingElapsed);
+	}
+
+	@Test
+	@SneakyThrows
+	void testAsyncExceptionHandlerWithRetries(WireMockRuntimeInfo wireMockRuntimeInfo) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		final var port = wireMockRuntimeInfo.getHttpPort();
+		backend.setPort(port);
+		backend.setUri("/ingest");
+		backend.setRetryCount(3);
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		stubFor(post(urlEqualTo("/ingest"))
+				.willReturn(aResponse()
+						.withStatus(503)
+						.withBody("Service Unavailable")));
+		final var failures = new AtomicInteger();
+		final var asyncExecutor = new AsyncHttpMessageExecutor<>(backend, () -> "Bearer 1234", ResourceHelper.getObjectMapper()) {
+			@Override
+			public void handleException(List<LeiaMessage> messages, Exception exception) {
+				failures.incrementAndGet();
+			}
+
+			@Override
+			public Object getRequestData(LeiaHttpEntity leiaHttpEntity) {
+				return leiaHttpEntity;
+			}
+
+			@Override
+			public Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig) {
+				return endPoint(backendConfig, port);
+			}
+		};
+		executors.add(asyncExecutor);
+		asyncExecutor.send(messages);
+		Assertions.assertEquals(1, failures.get());
+		verify(3, postRequestedFor(urlEqualTo("/ingest")));
+	}
+}
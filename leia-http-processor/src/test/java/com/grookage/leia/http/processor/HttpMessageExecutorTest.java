@@ -241,8 +241,7 @@ class HttpMessageExecutorTest {
 
 		testableExecutor.send(messages);
 
-		// Wait for the queued sender to process messages (FlushRunner runs every 1 second)
-		// Allow enough time for retry attempts
+		// Wait for the queued sender to drain the message and exhaust its retry attempts
 		Thread.sleep(5000);
 
 		// Verify exception handler was called
@@ -251,6 +250,64 @@ class HttpMessageExecutorTest {
 		log.info("Exception handler was called {} times in queued mode", exceptionHandlerCallCount.get());
 	}
 
+	@Test
+	@SneakyThrows
+	void testQueuedBackendDrainsContinuously(WireMockRuntimeInfo wireMockRuntimeInfo) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		HttpClientUtils.initialize(clientConfig);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		final var port = wireMockRuntimeInfo.getHttpPort();
+		backend.setPort(port);
+		backend.setUri("/ingest");
+		backend.setBackendType(BackendType.QUEUED);
+		backend.setQueueThreshold(5);
+		backend.setQueueConsumers(2);
+		backend.setQueuePath(TEST_QUEUE_PATH);
+		stubFor(post(urlEqualTo("/ingest"))
+				.willReturn(aResponse()
+						.withStatus(200)));
+
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		final var sentMessages = new AtomicInteger();
+		final var testableExecutor = new HttpMessageExecutor<>(backend, () -> "Bearer 1234", ResourceHelper.getObjectMapper()) {
+			@Override
+			public void handleException(List<LeiaMessage> messages, Exception exception) {
+				log.error("Error sending messages to backend {}: {}", this.getBackendConfig().getBackendName(), exception.getMessage());
+			}
+
+			@Override
+			public Object getRequestData(LeiaHttpEntity leiaHttpEntity) {
+				sentMessages.addAndGet(leiaHttpEntity.getEntities().size());
+				return leiaHttpEntity;
+			}
+
+			@Override
+			public Optional<LeiaHttpEndPoint> getEndPoint(HttpBackendConfig backendConfig) {
+				return Optional.of(LeiaHttpEndPoint.builder()
+						.host("127.0.0.1")
+						.port(port)
+						.secure(backendConfig.isSecure())
+						.uri(backendConfig.getUri())
+						.build());
+			}
+		};
+
+		// At queueThreshold 5 on a fixed 1s poll, this used to take 20 seconds to drain
+		final var sends = 100;
+		for (int i = 0; i < sends; i++) {
+			testableExecutor.send(messages);
+		}
+		final var deadline = System.currentTimeMillis() + 5000;
+		while (sentMessages.get() < sends * messages.size() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		Assertions.assertEquals(sends * messages.size(), sentMessages.get());
+		Assertions.assertEquals(0, testableExecutor.getQueuedSender().getBacklog());
+		testableExecutor.getQueuedSender().stop();
+	}
+
 	private boolean isRetryableError(Exception exception) {
 		return exception.getMessage().contains("500") ||
 				exception.getMessage().contains("503") ||
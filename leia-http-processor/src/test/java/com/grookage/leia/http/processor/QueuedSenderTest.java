@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.http.processor.config.BackendType;
+import com.grookage.leia.http.processor.config.HttpClientConfig;
+import com.grookage.leia.http.processor.config.QueueStorage;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class QueuedSenderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@SneakyThrows
+	private static void awaitCount(final AtomicInteger count, final int expected) {
+		final var deadline = System.currentTimeMillis() + 5000;
+		while (count.get() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(QueueStorage.class)
+	@SneakyThrows
+	void testUnacknowledgedBatchesAreRedeliveredAfterRestart(QueueStorage queueStorage) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		backend.setBackendType(BackendType.QUEUED);
+		backend.setQueuePath(tempDir.toString());
+		backend.setQueueThreshold(1);
+		backend.setQueueStorage(queueStorage);
+		backend.setQueueStopTimeoutMs(100);
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+
+		final var attempted = new AtomicInteger();
+		final var stalledSender = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			attempted.addAndGet(batch.size());
+			return new CompletableFuture<>();
+		});
+		for (int i = 0; i < 3; i++) {
+			stalledSender.send(messages);
+		}
+		awaitCount(attempted, 3 * messages.size());
+		Assertions.assertEquals(3, stalledSender.getBacklog());
+		stalledSender.stop();
+
+		final var delivered = new AtomicInteger();
+		final var sender = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			delivered.addAndGet(batch.size());
+			return CompletableFuture.completedFuture(null);
+		});
+		awaitCount(delivered, 3 * messages.size());
+		Assertions.assertEquals(3 * messages.size(), delivered.get());
+		final var deadline = System.currentTimeMillis() + 5000;
+		while (sender.getBacklog() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Assertions.assertEquals(0, sender.getBacklog());
+		sender.stop();
+	}
+
+	@ParameterizedTest
+	@EnumSource(QueueStorage.class)
+	@SneakyThrows
+	void testFailedBatchesAreRedeliveredInsteadOfCommitted(QueueStorage queueStorage) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		backend.setBackendType(BackendType.QUEUED);
+		backend.setQueuePath(tempDir.toString());
+		backend.setQueueThreshold(1);
+		backend.setQueueStorage(queueStorage);
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+
+		final var failing = new AtomicBoolean(true);
+		final var attempts = new AtomicInteger();
+		final var delivered = new AtomicInteger();
+		final var sender = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			attempts.incrementAndGet();
+			if (failing.get()) {
+				return CompletableFuture.failedFuture(new IllegalStateException("Circuit is open"));
+			}
+			delivered.addAndGet(batch.size());
+			return CompletableFuture.completedFuture(null);
+		});
+		sender.send(messages);
+		awaitCount(attempts, 2);
+		Assertions.assertTrue(attempts.get() >= 2);
+		Assertions.assertEquals(0, delivered.get());
+		Assertions.assertEquals(1, sender.getBacklog());
+
+		failing.set(false);
+		awaitCount(delivered, messages.size());
+		Assertions.assertEquals(messages.size(), delivered.get());
+		final var deadline = System.currentTimeMillis() + 5000;
+		while (sender.getBacklog() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Assertions.assertEquals(0, sender.getBacklog());
+		sender.stop();
+	}
+
+	@ParameterizedTest
+	@EnumSource(QueueStorage.class)
+	@SneakyThrows
+	void testStopWaitsForInFlightBatches(QueueStorage queueStorage) {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		backend.setBackendType(BackendType.QUEUED);
+		backend.setQueuePath(tempDir.toString());
+		backend.setQueueThreshold(1);
+		backend.setQueueStorage(queueStorage);
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+
+		final var attempted = new AtomicInteger();
+		final var sender = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			attempted.incrementAndGet();
+			return CompletableFuture.runAsync(() -> {
+			}, CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+		});
+		sender.send(messages);
+		awaitCount(attempted, 1);
+		sender.stop();
+		Assertions.assertEquals(0, sender.getBacklog());
+	}
+
+	@Test
+	@SneakyThrows
+	void testCursorAheadOfARecoveredLogDoesNotSkipEntries() {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		backend.setBackendType(BackendType.QUEUED);
+		backend.setQueuePath(tempDir.toString());
+		backend.setQueueThreshold(1);
+		backend.setQueueStorage(QueueStorage.SEGMENTED_LOG);
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+
+		final var delivered = new AtomicInteger();
+		final var sender = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			delivered.addAndGet(batch.size());
+			return CompletableFuture.completedFuture(null);
+		});
+		for (int i = 0; i < 3; i++) {
+			sender.send(messages);
+		}
+		awaitCount(delivered, 3 * messages.size());
+		sender.stop();
+		Assertions.assertEquals(0, sender.getBacklog());
+
+		/*
+			The segments are lost while the cursor, still at 3, is kept.
+		 */
+		try (final var files = Files.list(tempDir.resolve(backend.getBackendName() + "-log"))) {
+			for (final var file : files.filter(each -> each.toString().endsWith(".segment")).toList()) {
+				Files.delete(file);
+			}
+		}
+		final var recovered = new AtomicInteger();
+		final var reopened = new HttpMessageExecutor.QueuedSender(backend, ResourceHelper.getObjectMapper(), batch -> {
+			recovered.addAndGet(batch.size());
+			return CompletableFuture.completedFuture(null);
+		});
+		Assertions.assertEquals(0, reopened.getBacklog());
+		reopened.send(messages);
+		awaitCount(recovered, messages.size());
+		Assertions.assertEquals(messages.size(), recovered.get());
+		final var deadline = System.currentTimeMillis() + 5000;
+		while (reopened.getBacklog() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Assertions.assertEquals(0, reopened.getBacklog());
+		reopened.stop();
+	}
+}
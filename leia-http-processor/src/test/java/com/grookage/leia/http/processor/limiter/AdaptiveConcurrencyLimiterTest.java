@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.limiter;
+
+import com.grookage.leia.http.processor.config.ConcurrencyLimitConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	@Test
+	void testLimitShedsExcessLoad() {
+		final var limiter = new AdaptiveConcurrencyLimiter("backend1", ConcurrencyLimitConfig.builder()
+				.enabled(true)
+				.initialLimit(2)
+				.build());
+		Assertions.assertTrue(limiter.acquire());
+		Assertions.assertTrue(limiter.acquire());
+		Assertions.assertFalse(limiter.acquire());
+		Assertions.assertEquals(2, limiter.getInflight());
+		Assertions.assertEquals(1, limiter.getRejectedCount());
+	}
+
+	@Test
+	void testLimitIncreasesOnSuccess() {
+		final var limiter = new AdaptiveConcurrencyLimiter("backend1", ConcurrencyLimitConfig.builder()
+				.enabled(true)
+				.initialLimit(2)
+				.maxLimit(3)
+				.build());
+		Assertions.assertTrue(limiter.acquire());
+		Assertions.assertTrue(limiter.acquire());
+		limiter.onSuccess(10);
+		Assertions.assertEquals(3, limiter.getLimit());
+		limiter.onSuccess(10);
+		Assertions.assertEquals(3, limiter.getLimit());
+		Assertions.assertEquals(0, limiter.getInflight());
+	}
+
+	@Test
+	void testLimitDecreasesOnFailureAndSlowCalls() {
+		final var limiter = new AdaptiveConcurrencyLimiter("backend1", ConcurrencyLimitConfig.builder()
+				.enabled(true)
+				.initialLimit(10)
+				.minLimit(4)
+				.backoffRatio(0.5)
+				.latencyThresholdMs(100)
+				.build());
+		Assertions.assertTrue(limiter.acquire());
+		limiter.onFailure();
+		Assertions.assertEquals(5, limiter.getLimit());
+		Assertions.assertTrue(limiter.acquire());
+		limiter.onSuccess(500);
+		Assertions.assertEquals(4, limiter.getLimit());
+	}
+
+	@Test
+	void testQueuedCallerIsAdmittedOnRelease() throws Exception {
+		final var limiter = new AdaptiveConcurrencyLimiter("backend1", ConcurrencyLimitConfig.builder()
+				.enabled(true)
+				.initialLimit(1)
+				.maxLimit(1)
+				.maxWaitMs(5000)
+				.build());
+		Assertions.assertTrue(limiter.acquire());
+		final var waiter = new Thread(() -> {
+			if (limiter.acquire()) {
+				limiter.onSuccess(0);
+			}
+		});
+		waiter.start();
+		Thread.sleep(100);
+		limiter.onSuccess(0);
+		waiter.join(5000);
+		Assertions.assertFalse(waiter.isAlive());
+		Assertions.assertEquals(0, limiter.getRejectedCount());
+		Assertions.assertEquals(0, limiter.getInflight());
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+class CommitCursorTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@SneakyThrows
+	void testCursorCommitsInOrder() {
+		try (final var cursor = new CommitCursor(tempDir.resolve("backend1.cursor"), 0, 10)) {
+			cursor.begin(0, 5);
+			cursor.begin(5, 8);
+			cursor.begin(8, 10);
+			cursor.complete(5);
+			Assertions.assertEquals(0, cursor.getCommitted());
+			cursor.complete(8);
+			Assertions.assertEquals(0, cursor.getCommitted());
+			Assertions.assertEquals(3, cursor.getPendingBatches());
+			cursor.complete(0);
+			Assertions.assertEquals(10, cursor.getCommitted());
+			Assertions.assertEquals(0, cursor.getPendingBatches());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testCursorSurvivesRestart() {
+		final var path = tempDir.resolve("backend1.cursor");
+		try (final var cursor = new CommitCursor(path, 3, 9)) {
+			Assertions.assertEquals(3, cursor.getCommitted());
+			cursor.begin(3, 7);
+			cursor.begin(7, 9);
+			cursor.complete(3);
+		}
+		try (final var cursor = new CommitCursor(path, 0, 9)) {
+			Assertions.assertEquals(7, cursor.getCommitted());
+		}
+		try (final var cursor = new CommitCursor(path, 12, 15)) {
+			Assertions.assertEquals(12, cursor.getCommitted());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testCursorAheadOfTheLogIsClamped() {
+		final var path = tempDir.resolve("backend1.cursor");
+		try (final var cursor = new CommitCursor(path, 0, 10)) {
+			cursor.begin(0, 10);
+			cursor.complete(0);
+			Assertions.assertEquals(10, cursor.getCommitted());
+		}
+		try (final var cursor = new CommitCursor(path, 0, 4)) {
+			Assertions.assertEquals(4, cursor.getCommitted());
+		}
+		try (final var cursor = new CommitCursor(path, 0, 0)) {
+			Assertions.assertEquals(0, cursor.getCommitted());
+		}
+	}
+}
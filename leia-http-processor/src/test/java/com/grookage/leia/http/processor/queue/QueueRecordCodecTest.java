@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.QueueRecordFormat;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class QueueRecordCodecTest {
+
+	@SneakyThrows
+	private static List<LeiaMessage> getMessages(int copies) {
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		final var result = new ArrayList<LeiaMessage>();
+		for (int i = 0; i < copies; i++) {
+			result.addAll(messages);
+		}
+		return result;
+	}
+
+	@Test
+	@SneakyThrows
+	void testSmileRecordRoundTrip() {
+		final var mapper = ResourceHelper.getObjectMapper();
+		final var codec = new QueueRecordCodec(mapper, QueueRecordFormat.SMILE);
+		final var messages = getMessages(20);
+		final var record = codec.encode(messages);
+		Assertions.assertEquals(QueueRecordCodec.MAGIC, record[0]);
+		Assertions.assertEquals(QueueRecordCodec.SMILE_VERSION, record[1]);
+		Assertions.assertTrue(record.length < mapper.writeValueAsBytes(messages).length);
+		Assertions.assertEquals(messages, codec.decode(record));
+	}
+
+	@Test
+	@SneakyThrows
+	void testLegacyJsonRecordsAreStillReadable() {
+		final var mapper = ResourceHelper.getObjectMapper();
+		final var messages = getMessages(2);
+		final var legacyRecord = mapper.writeValueAsBytes(messages);
+		Assertions.assertEquals(messages, new QueueRecordCodec(mapper, QueueRecordFormat.SMILE).decode(legacyRecord));
+		final var jsonCodec = new QueueRecordCodec(mapper, QueueRecordFormat.JSON);
+		Assertions.assertArrayEquals(legacyRecord, jsonCodec.encode(messages));
+		Assertions.assertArrayEquals(legacyRecord, new QueueRecordCodec(mapper, null).encode(messages));
+		Assertions.assertEquals(QueueRecordFormat.JSON, HttpBackendConfig.builder().build().getQueueRecordFormat());
+	}
+
+	@Test
+	void testUnknownVersionIsRejected() {
+		final var codec = new QueueRecordCodec(ResourceHelper.getObjectMapper(), QueueRecordFormat.SMILE);
+		Assertions.assertThrows(IOException.class, () -> codec.decode(new byte[]{QueueRecordCodec.MAGIC, 42, 0}));
+	}
+}
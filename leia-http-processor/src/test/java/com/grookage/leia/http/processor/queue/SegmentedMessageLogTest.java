@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.queue;
+
+import com.grookage.leia.http.processor.config.FsyncPolicy;
+import com.grookage.leia.http.processor.config.SegmentedLogConfig;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class SegmentedMessageLogTest {
+
+	private static final SegmentedLogConfig CONFIG = SegmentedLogConfig.builder()
+			.segmentSizeBytes(1024)
+			.fsyncPolicy(FsyncPolicy.EVERY_N)
+			.fsyncEveryRecords(2)
+			.build();
+
+	@TempDir
+	Path tempDir;
+
+	private static byte[] record(int index) {
+		return ("record-" + index + "-".repeat(40)).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@SneakyThrows
+	private long segmentCount() {
+		try (final var files = Files.list(tempDir)) {
+			return files.filter(each -> each.toString().endsWith(".segment")).count();
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testAppendsRollOverSegmentsAndSurviveReopen() {
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			for (int i = 0; i < 100; i++) {
+				Assertions.assertEquals(i, messageLog.append(record(i)));
+			}
+			Assertions.assertTrue(segmentCount() > 1);
+			Assertions.assertEquals(segmentCount() * 1024, messageLog.getDiskUsageBytes());
+			Assertions.assertArrayEquals(record(42), messageLog.get(42));
+		}
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			Assertions.assertEquals(0, messageLog.getTailIndex());
+			Assertions.assertEquals(100, messageLog.getHeadIndex());
+			for (int i = 0; i < 100; i++) {
+				Assertions.assertArrayEquals(record(i), messageLog.get(i));
+			}
+			Assertions.assertEquals(100, messageLog.append(record(100)));
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testRemoveBeforeIndexDeletesWholeSegments() {
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			for (int i = 0; i < 100; i++) {
+				messageLog.append(record(i));
+			}
+			final var segments = segmentCount();
+			messageLog.removeBeforeIndex(50);
+			Assertions.assertTrue(segmentCount() < segments);
+			Assertions.assertTrue(messageLog.getTailIndex() <= 50);
+			Assertions.assertArrayEquals(record(50), messageLog.get(50));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> messageLog.get(0));
+			messageLog.removeBeforeIndex(100);
+			Assertions.assertEquals(1, segmentCount());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testRecoveryStopsAtCorruptRecord() {
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			for (int i = 0; i < 5; i++) {
+				messageLog.append(record(i));
+			}
+		}
+		final var recordBytes = 2 * Integer.BYTES + record(0).length;
+		try (final var file = new RandomAccessFile(tempDir.resolve(String.format("%020d.segment", 0)).toFile(), "rw")) {
+			file.seek(3L * recordBytes + 2 * Integer.BYTES);
+			file.write('X');
+		}
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			Assertions.assertEquals(3, messageLog.getHeadIndex());
+			Assertions.assertArrayEquals(record(2), messageLog.get(2));
+			Assertions.assertEquals(3, messageLog.append(record(3)));
+		}
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			Assertions.assertEquals(4, messageLog.getHeadIndex());
+			Assertions.assertArrayEquals(record(3), messageLog.get(3));
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testOversizedRecordIsRejected() {
+		try (final var messageLog = new SegmentedMessageLog(tempDir, CONFIG)) {
+			Assertions.assertThrows(IOException.class, () -> messageLog.append(new byte[2048]));
+			Assertions.assertEquals(0, messageLog.getHeadIndex());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testClosedLogRejectsAccess() {
+		final var messageLog = new SegmentedMessageLog(tempDir, CONFIG);
+		for (int i = 0; i < 100; i++) {
+			messageLog.append(record(i));
+		}
+		messageLog.removeBeforeIndex(50);
+		Assertions.assertArrayEquals(record(99), messageLog.get(99));
+		messageLog.close();
+		messageLog.close();
+		Assertions.assertThrows(IOException.class, () -> messageLog.get(99));
+		Assertions.assertThrows(IOException.class, () -> messageLog.append(record(100)));
+		messageLog.sync();
+	}
+}
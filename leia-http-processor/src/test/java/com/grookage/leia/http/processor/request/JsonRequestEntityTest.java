@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.request;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.http.processor.config.ContentEncoding;
+import com.grookage.leia.http.processor.config.HttpClientConfig;
+import com.grookage.leia.http.processor.utils.HttpRequestUtils;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+class JsonRequestEntityTest {
+
+	@SneakyThrows
+	private static LeiaHttpEntity getHttpEntity() {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		final var leiaMessages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		return HttpRequestUtils.toHttpEntity(leiaMessages, backend);
+	}
+
+	@Test
+	@SneakyThrows
+	void testIdentityEntityStreamsOnEveryWrite() {
+		final var mapper = ResourceHelper.getObjectMapper();
+		final var httpEntity = getHttpEntity();
+		final var entity = JsonRequestEntity.of(mapper, httpEntity, ContentEncoding.IDENTITY);
+		Assertions.assertTrue(entity.isRepeatable());
+		Assertions.assertTrue(entity.isChunked());
+		Assertions.assertNull(entity.getContentEncoding());
+		Assertions.assertEquals(-1, entity.getContentLength());
+		for (int attempt = 0; attempt < 2; attempt++) {
+			final var outputStream = new ByteArrayOutputStream();
+			entity.writeTo(outputStream);
+			Assertions.assertArrayEquals(mapper.writeValueAsBytes(httpEntity), outputStream.toByteArray());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void testGzipEntityIsEncodedOnce() {
+		final var mapper = ResourceHelper.getObjectMapper();
+		final var httpEntity = getHttpEntity();
+		final var entity = JsonRequestEntity.of(mapper, httpEntity, ContentEncoding.GZIP);
+		Assertions.assertEquals("gzip", entity.getContentEncoding());
+		Assertions.assertFalse(entity.isChunked());
+		final var encoded = entity.toByteArray();
+		Assertions.assertSame(encoded, entity.toByteArray());
+		Assertions.assertEquals(encoded.length, entity.getContentLength());
+		try (final var inputStream = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+			Assertions.assertArrayEquals(mapper.writeValueAsBytes(httpEntity), inputStream.readAllBytes());
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.request;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.http.processor.config.HttpClientConfig;
+import com.grookage.leia.http.processor.config.LeiaHttpEndPoint;
+import com.grookage.leia.http.processor.utils.HttpRequestUtils;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class SendPlanTest {
+
+	@Test
+	@SneakyThrows
+	void testSendPlanMatchesPerMessageEnvelope() {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		final var backend = clientConfig.getBackendConfigs().stream().findFirst().orElse(null);
+		Assertions.assertNotNull(backend);
+		backend.setHeaders(Map.of("x-env", "stage"));
+		final var endPoint = LeiaHttpEndPoint.builder()
+				.host("127.0.0.1")
+				.port(8080)
+				.uri("/ingest")
+				.build();
+		final var leiaMessages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+
+		final var plan = SendPlan.of(backend, endPoint);
+		Assertions.assertEquals("http://127.0.0.1:8080/ingest", plan.getUri().toString());
+		Assertions.assertEquals(1, plan.getHeaders().length);
+		Assertions.assertEquals(HttpRequestUtils.toHttpEntity(leiaMessages, backend), plan.toHttpEntity(leiaMessages));
+		Assertions.assertEquals("5aed308f0de68dc585bbd09581e5ddca", plan.getSignature(leiaMessages.get(0)));
+		Assertions.assertSame(plan.getSignature(leiaMessages.get(0)), plan.getSignature(leiaMessages.get(0)));
+		Assertions.assertEquals(1, plan.getSignatures().size());
+
+		Assertions.assertTrue(plan.matches(backend, endPoint));
+		endPoint.setPort(9090);
+		Assertions.assertFalse(plan.matches(backend, endPoint));
+		endPoint.setPort(8080);
+		backend.setHeaders(Map.of("x-env", "prod"));
+		Assertions.assertFalse(plan.matches(backend, endPoint));
+		backend.setHeaders(Map.of("x-env", "stage"));
+		backend.setHasher("@5678$");
+		Assertions.assertFalse(plan.matches(backend, endPoint));
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.retry;
+
+import com.grookage.leia.http.processor.config.RetryConfig;
+import com.grookage.leia.http.processor.exception.BackendResponseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RetryHandlerTest {
+
+	private static CompletableFuture<String> failWith(final AtomicInteger attempts, final BackendResponseException exception) {
+		attempts.incrementAndGet();
+		return CompletableFuture.failedFuture(exception);
+	}
+
+	@Test
+	void testOnlyServerErrorsAndThrottlingAreRetried() {
+		Assertions.assertTrue(RetryHandler.isRetryable(new BackendResponseException(503, "Unavailable", -1)));
+		Assertions.assertTrue(RetryHandler.isRetryable(new BackendResponseException(429, "Too Many Requests", 1000)));
+		Assertions.assertFalse(RetryHandler.isRetryable(new BackendResponseException(429, "Too Many Requests", -1)));
+		Assertions.assertFalse(RetryHandler.isRetryable(new BackendResponseException(400, "Bad Request", -1)));
+		Assertions.assertFalse(RetryHandler.isRetryable(new IllegalStateException()));
+	}
+
+	@Test
+	void testBackoffIsCappedAndHonoursRetryAfter() {
+		final var retryHandler = new RetryHandler("backend1", 5, RetryConfig.builder()
+				.baseDelayMs(100)
+				.maxDelayMs(300)
+				.maxRetryAfterMs(2000)
+				.build());
+		for (int attempt = 1; attempt <= 10; attempt++) {
+			final var delay = retryHandler.getDelayMs(attempt, new BackendResponseException(503, "Unavailable", -1));
+			Assertions.assertTrue(delay >= 0 && delay <= Math.min(300, 100L << (attempt - 1)));
+		}
+		Assertions.assertEquals(1500, retryHandler.getDelayMs(1, new BackendResponseException(429, "Too Many Requests", 1500)));
+		Assertions.assertEquals(2000, retryHandler.getDelayMs(1, new BackendResponseException(429, "Too Many Requests", 60_000)));
+	}
+
+	@Test
+	void testRetriesStopAtMaxAttempts() {
+		final var retryHandler = new RetryHandler("backend1", 3, RetryConfig.builder()
+				.baseDelayMs(1)
+				.build());
+		final var attempts = new AtomicInteger();
+		final var future = retryHandler.execute(() -> failWith(attempts, new BackendResponseException(500, "Error", -1)),
+				Runnable::run);
+		Assertions.assertThrows(CompletionException.class, future::join);
+		Assertions.assertEquals(3, attempts.get());
+	}
+
+	@Test
+	void testRetriesStopWhenBudgetIsExhausted() {
+		final var retryHandler = new RetryHandler("backend1", 3, RetryConfig.builder()
+				.baseDelayMs(1)
+				.minRetriesPerWindow(2)
+				.budgetRatio(0)
+				.build());
+		final var attempts = new AtomicInteger();
+		for (int i = 0; i < 3; i++) {
+			final var future = retryHandler.execute(() -> failWith(attempts, new BackendResponseException(500, "Error", -1)),
+					Runnable::run);
+			Assertions.assertThrows(CompletionException.class, future::join);
+		}
+		Assertions.assertEquals(5, attempts.get());
+		Assertions.assertEquals(2, retryHandler.getRetryBudget().getRetries());
+		Assertions.assertTrue(retryHandler.getBudgetExhaustedCount() > 0);
+	}
+
+	@Test
+	void testSuccessAfterRetry() {
+		final var retryHandler = new RetryHandler("backend1", 3, RetryConfig.builder()
+				.baseDelayMs(1)
+				.build());
+		final var attempts = new AtomicInteger();
+		final var response = retryHandler.execute(() -> attempts.incrementAndGet() == 1
+						? CompletableFuture.<String>failedFuture(new BackendResponseException(502, "Bad Gateway", -1))
+						: CompletableFuture.completedFuture("ok"),
+				Runnable::run).join();
+		Assertions.assertEquals("ok", response);
+		Assertions.assertEquals(2, attempts.get());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.spillover;
+
+import com.grookage.leia.http.processor.config.SpilloverConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SpilloverControllerTest {
+
+	private static final SpilloverConfig CONFIG = SpilloverConfig.builder()
+			.windowSize(10)
+			.minimumCalls(5)
+			.latencyThresholdMs(100)
+			.slowCallRateThreshold(0.5)
+			.errorRateThreshold(0.2)
+			.build();
+
+	@Test
+	void testSpillsOnErrorsAndRecoversOnceDrained() {
+		final var backlog = new AtomicLong();
+		final var controller = new SpilloverController("backend1", CONFIG, backlog::get);
+		final var direct = new AtomicInteger();
+		final var spilled = new AtomicInteger();
+		final Runnable send = () -> controller.route(() -> {
+			direct.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		}, () -> {
+			spilled.incrementAndGet();
+			backlog.incrementAndGet();
+		});
+
+		for (int i = 0; i < 4; i++) {
+			controller.record(10, true);
+		}
+		controller.record(10, false);
+		controller.record(10, false);
+		Assertions.assertTrue(controller.isSpilling());
+		Assertions.assertEquals(1, controller.getTransitions());
+
+		send.run();
+		Assertions.assertEquals(1, spilled.get());
+		Assertions.assertEquals(0, direct.get());
+
+		//Healthy again, but the queue still has a backlog
+		for (int i = 0; i < 5; i++) {
+			controller.record(10, true);
+		}
+		send.run();
+		Assertions.assertEquals(2, spilled.get());
+		Assertions.assertTrue(controller.isSpilling());
+
+		backlog.set(0);
+		send.run();
+		Assertions.assertEquals(1, direct.get());
+		Assertions.assertFalse(controller.isSpilling());
+		Assertions.assertEquals(2, controller.getTransitions());
+	}
+
+	@Test
+	void testSpillsOnSlowCalls() {
+		final var controller = new SpilloverController("backend1", CONFIG, () -> 0);
+		for (int i = 0; i < 4; i++) {
+			controller.record(500, true);
+		}
+		Assertions.assertFalse(controller.isSpilling());
+		controller.record(500, true);
+		Assertions.assertTrue(controller.isSpilling());
+	}
+
+	@Test
+	void testStaysSpillingWhileUnhealthy() {
+		final var controller = new SpilloverController("backend1", CONFIG, () -> 0);
+		for (int i = 0; i < 5; i++) {
+			controller.record(10, false);
+		}
+		Assertions.assertTrue(controller.isSpilling());
+		for (int i = 0; i < 5; i++) {
+			controller.record(10, false);
+		}
+		final var spilled = new AtomicInteger();
+		controller.route(() -> CompletableFuture.completedFuture(null), spilled::incrementAndGet);
+		Assertions.assertEquals(1, spilled.get());
+		Assertions.assertTrue(controller.isSpilling());
+	}
+}
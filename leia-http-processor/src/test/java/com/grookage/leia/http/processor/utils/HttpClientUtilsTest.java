@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.http.processor.utils;
+
+import com.grookage.leia.http.processor.config.HttpBackendConfig;
+import com.grookage.leia.http.processor.config.HttpClientConfig;
+import com.grookage.leia.http.processor.config.HttpPoolConfig;
+import com.grookage.leia.models.ResourceHelper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HttpClientUtilsTest {
+
+	@Test
+	@SneakyThrows
+	void testBackendPoolOverridesClientDefaults() {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		HttpClientUtils.initialize(clientConfig);
+		final var backend = HttpBackendConfig.builder()
+				.backendName("backend2")
+				.hasher("@1234$")
+				.pool(HttpPoolConfig.builder()
+						.maxConnPerRoute(50)
+						.operationTimeout(2000)
+						.build())
+				.build();
+		final var resolved = HttpClientUtils.getClientConfig(backend);
+		Assertions.assertEquals(50, resolved.getMaxConnPerRoute());
+		Assertions.assertEquals(2000, resolved.getOperationTimeout());
+		Assertions.assertEquals(clientConfig.getMaxConnTotal(), resolved.getMaxConnTotal());
+		Assertions.assertEquals(clientConfig.getTtlMs(), resolved.getTtlMs());
+
+		backend.setPool(null);
+		Assertions.assertSame(clientConfig, HttpClientUtils.getClientConfig(backend));
+	}
+
+	@Test
+	@SneakyThrows
+	void testEveryBackendGetsItsOwnClient() {
+		final var clientConfig = ResourceHelper.getResource("httpClientConfig.json", HttpClientConfig.class);
+		HttpClientUtils.initialize(clientConfig);
+		final var backend = clientConfig.getBackendConfigs().get(0);
+		try (final var first = HttpClientUtils.getCloseableClient(backend);
+		     final var second = HttpClientUtils.getCloseableClient(backend)) {
+			Assertions.assertNotSame(first, second);
+		}
+	}
+}
@@ -56,6 +56,11 @@ public class SchemaDetails {
 	Set<SchemaHistoryItem> histories = new HashSet<>();
 	@Builder.Default
 	Set<String> tags = new HashSet<>();
+	/*
+		Epoch millis of the last write, stamped by the repository. Drives the delta refresh in RepositorySupplier;
+		schemas written before this field existed carry 0.
+	 */
+	long updatedAt;
 
 	@JsonIgnore
 	public String getReferenceId() {
@@ -16,23 +16,126 @@
 
 package com.grookage.leia.models.schema;
 
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.engine.SchemaState;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
-import java.util.Collection;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+/*
+	Besides the schemas keyed by SchemaKey, the registry keeps posting sets of keys by orgId, namespace, tenantId,
+	schemaName and state, maintained on add/put. search() walks the smallest matching postings and probes the rest,
+	so a cached search doesn't scan every schema. Searches that are paged are also kept sorted by referenceId until
+	the next add/put, so each page is a binary search away instead of another search and sort.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 public class SchemaRegistry {
 
+	private static final int MAX_SORTED_SEARCHES = 1_024;
+
 	private final ConcurrentHashMap<SchemaKey, SchemaDetails> schemas = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<String, Set<SchemaKey>> orgIndex = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<String, Set<SchemaKey>> namespaceIndex = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<String, Set<SchemaKey>> tenantIndex = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<String, Set<SchemaKey>> schemaNameIndex = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<SchemaState, Set<SchemaKey>> stateIndex = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Map<SearchRequest, List<SchemaDetails>> sortedSearches = new ConcurrentHashMap<>();
+
+	private static <T> void index(final Map<T, Set<SchemaKey>> index, final T value, final SchemaKey schemaKey) {
+		if (null != value) {
+			index.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(schemaKey);
+		}
+	}
+
+	private static <T> void unindex(final Map<T, Set<SchemaKey>> index, final T value, final SchemaKey schemaKey) {
+		if (null != value) {
+			index.computeIfPresent(value, (key, postings) -> {
+				postings.remove(schemaKey);
+				return postings.isEmpty() ? null : postings;
+			});
+		}
+	}
+
+	/*
+		Null when the request doesn't filter on this field, otherwise the posting sets of the requested values.
+	 */
+	private static <T> List<Set<SchemaKey>> postings(final Map<T, Set<SchemaKey>> index, final Set<T> values) {
+		if (null == values || values.isEmpty()) {
+			return null;
+		}
+		return values.stream()
+				.filter(Objects::nonNull)
+				.map(value -> index.getOrDefault(value, Set.of()))
+				.toList();
+	}
+
+	private static int size(final List<Set<SchemaKey>> postings) {
+		return postings.stream().mapToInt(Set::size).sum();
+	}
+
+	private static <T> Set<T> copyOf(final Set<T> values) {
+		return null == values ? Set.of() : new HashSet<>(values);
+	}
+
+	private void index(final SchemaDetails schemaDetails) {
+		sortedSearches.clear();
+		final var schemaKey = schemaDetails.getSchemaKey();
+		index(orgIndex, schemaKey.getOrgId(), schemaKey);
+		index(namespaceIndex, schemaKey.getNamespace(), schemaKey);
+		index(tenantIndex, schemaKey.getTenantId(), schemaKey);
+		index(schemaNameIndex, schemaKey.getSchemaName(), schemaKey);
+		index(stateIndex, schemaDetails.getSchemaState(), schemaKey);
+	}
+
+	private void unindex(final SchemaDetails schemaDetails) {
+		sortedSearches.clear();
+		final var schemaKey = schemaDetails.getSchemaKey();
+		unindex(orgIndex, schemaKey.getOrgId(), schemaKey);
+		unindex(namespaceIndex, schemaKey.getNamespace(), schemaKey);
+		unindex(tenantIndex, schemaKey.getTenantId(), schemaKey);
+		unindex(schemaNameIndex, schemaKey.getSchemaName(), schemaKey);
+		unindex(stateIndex, schemaDetails.getSchemaState(), schemaKey);
+	}
 
 	public void add(final SchemaDetails schemaDetails) {
-		schemas.putIfAbsent(schemaDetails.getSchemaKey(), schemaDetails);
+		if (null == schemas.putIfAbsent(schemaDetails.getSchemaKey(), schemaDetails)) {
+			index(schemaDetails);
+		}
+	}
+
+	public void put(final SchemaDetails schemaDetails) {
+		final var previous = schemas.put(schemaDetails.getSchemaKey(), schemaDetails);
+		if (null != previous) {
+			unindex(previous);
+		}
+		index(schemaDetails);
 	}
 
 	public Optional<SchemaDetails> getSchemaDetails(final SchemaKey schemaKey) {
@@ -42,4 +145,50 @@ public class SchemaRegistry {
 	public Collection<SchemaDetails> getSchemaDetails() {
 		return schemas.values();
 	}
+
+	public List<SchemaDetails> search(final SearchRequest searchRequest) {
+		final var filters = new ArrayList<List<Set<SchemaKey>>>();
+		Optional.ofNullable(postings(orgIndex, searchRequest.getOrgIds())).ifPresent(filters::add);
+		Optional.ofNullable(postings(namespaceIndex, searchRequest.getNamespaces())).ifPresent(filters::add);
+		Optional.ofNullable(postings(tenantIndex, searchRequest.getTenants())).ifPresent(filters::add);
+		Optional.ofNullable(postings(schemaNameIndex, searchRequest.getSchemaNames())).ifPresent(filters::add);
+		Optional.ofNullable(postings(stateIndex, searchRequest.getStates())).ifPresent(filters::add);
+		if (filters.isEmpty()) {
+			return List.copyOf(schemas.values());
+		}
+		filters.sort(Comparator.comparingInt(SchemaRegistry::size));
+		final var smallest = filters.get(0);
+		final var rest = filters.subList(1, filters.size());
+		return smallest.stream()
+				.flatMap(Set::stream)
+				.filter(schemaKey -> rest.stream().allMatch(postings -> postings.stream()
+						.anyMatch(posting -> posting.contains(schemaKey))))
+				.map(schemas::get)
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
+	/*
+		The search result sorted by referenceId, computed once per search until the registry changes
+	 */
+	public List<SchemaDetails> searchSorted(final SearchRequest searchRequest) {
+		final var key = SearchRequest.builder()
+				.orgIds(copyOf(searchRequest.getOrgIds()))
+				.tenants(copyOf(searchRequest.getTenants()))
+				.namespaces(copyOf(searchRequest.getNamespaces()))
+				.schemaNames(copyOf(searchRequest.getSchemaNames()))
+				.states(copyOf(searchRequest.getStates()))
+				.build();
+		final var cached = sortedSearches.get(key);
+		if (null != cached) {
+			return cached;
+		}
+		final var sorted = search(key).stream()
+				.sorted(Comparator.comparing(SchemaDetails::getReferenceId))
+				.toList();
+		if (sortedSearches.size() < MAX_SORTED_SEARCHES) {
+			sortedSearches.putIfAbsent(key, sorted);
+		}
+		return sorted;
+	}
 }
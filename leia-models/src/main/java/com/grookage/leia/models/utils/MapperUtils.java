@@ -24,6 +24,11 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class MapperUtils {
 
+	/*
+		Media type for Smile, the binary JSON the schema endpoints can be asked for with Accept.
+	 */
+	public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
 	private static final ObjectMapper mapper = new ObjectMapper();
 
 	static {
@@ -16,10 +16,18 @@
 
 package com.grookage.leia.models.utils;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
 import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.SchemaPage;
 import lombok.experimental.UtilityClass;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +42,49 @@ public class SchemaUtils {
 				.filter(each -> each.getReferenceId().equals(schemaKey.getReferenceId()))
 				.findFirst();
 	}
+
+	/*
+		Order independent and stable across JVMs, so every server instance hands out the same version for the same
+		schemas. Each write through the schema processors bumps updatedAt and adds a history item, which is what
+		the per-schema token is built from, so nothing has to be serialized.
+	 */
+	public String getFingerprint(final Collection<SchemaDetails> schemas) {
+		var combined = 0L;
+		for (final var schemaDetails : schemas) {
+			final var token = schemaDetails.getReferenceId() + "|" + schemaDetails.getUpdatedAt() + "|" +
+					schemaDetails.getSchemaState() + "|" +
+					(null == schemaDetails.getHistories() ? 0 : schemaDetails.getHistories().size());
+			combined += Hashing.murmur3_128().hashString(token, StandardCharsets.UTF_8).asLong();
+		}
+		return Long.toHexString(combined) + "-" + schemas.size();
+	}
+
+	/*
+		The page of up to limit schemas that sort after cursor by referenceId, the cursor being the last referenceId
+		of the previous page.
+	 */
+	public SchemaPage getPage(final Collection<SchemaDetails> schemas, final String cursor, final int limit) {
+		return getSortedPage(schemas.stream()
+				.sorted(Comparator.comparing(SchemaDetails::getReferenceId))
+				.toList(), cursor, limit);
+	}
+
+	/*
+		Same as getPage for schemas already sorted by referenceId, finding the cursor with a binary search.
+	 */
+	public SchemaPage getSortedPage(final List<SchemaDetails> sorted, final String cursor, final int limit) {
+		Preconditions.checkArgument(limit > 0, "Page limit should be greater than 0");
+		var from = 0;
+		if (null != cursor) {
+			final var position = Collections.binarySearch(Lists.transform(sorted, SchemaDetails::getReferenceId),
+					cursor);
+			from = position >= 0 ? position + 1 : -position - 1;
+		}
+		final var to = Math.min(sorted.size(), from + limit);
+		final var page = List.copyOf(sorted.subList(from, to));
+		return SchemaPage.builder()
+				.schemas(page)
+				.nextCursor(to < sorted.size() ? page.get(page.size() - 1).getReferenceId() : null)
+				.build();
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.grookage.leia.models.schema;
+
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.request.SearchRequest;
+import com.grookage.leia.models.schema.engine.SchemaState;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class SchemaRegistryTest {
+
+	@SneakyThrows
+	private SchemaDetails getSchemaDetails(final String orgId, final String schemaName, final SchemaState schemaState) {
+		final var schemaDetails = ResourceHelper
+				.getResource("schema/schemaDetails.json", SchemaDetails.class);
+		schemaDetails.getSchemaKey().setOrgId(orgId);
+		schemaDetails.getSchemaKey().setSchemaName(schemaName);
+		schemaDetails.setSchemaState(schemaState);
+		return schemaDetails;
+	}
+
+	@Test
+	void testSearchIntersectsIndexes() {
+		final var registry = new SchemaRegistry();
+		registry.add(getSchemaDetails("org1", "schema1", SchemaState.CREATED));
+		registry.add(getSchemaDetails("org1", "schema2", SchemaState.APPROVED));
+		registry.add(getSchemaDetails("org2", "schema1", SchemaState.APPROVED));
+		Assertions.assertEquals(3, registry.search(SearchRequest.builder().build()).size());
+		Assertions.assertEquals(2, registry.search(SearchRequest.builder()
+				.orgIds(Set.of("org1"))
+				.build()).size());
+		final var approved = registry.search(SearchRequest.builder()
+				.orgIds(Set.of("org1", "org2"))
+				.states(Set.of(SchemaState.APPROVED))
+				.namespaces(Set.of("testNamespace"))
+				.build());
+		Assertions.assertEquals(2, approved.size());
+		Assertions.assertTrue(approved.stream().allMatch(each -> each.getSchemaState() == SchemaState.APPROVED));
+		Assertions.assertTrue(registry.search(SearchRequest.builder()
+				.orgIds(Set.of("org2"))
+				.schemaNames(Set.of("schema2"))
+				.build()).isEmpty());
+		Assertions.assertTrue(registry.search(SearchRequest.builder()
+				.tenants(Set.of("unknownTenant"))
+				.build()).isEmpty());
+	}
+
+	@Test
+	void testPutReindexesReplacedSchema() {
+		final var registry = new SchemaRegistry();
+		registry.add(getSchemaDetails("org1", "schema1", SchemaState.CREATED));
+		registry.put(getSchemaDetails("org1", "schema1", SchemaState.APPROVED));
+		Assertions.assertEquals(1, registry.getSchemas().size());
+		Assertions.assertTrue(registry.search(SearchRequest.builder()
+				.states(Set.of(SchemaState.CREATED))
+				.build()).isEmpty());
+		Assertions.assertEquals(1, registry.search(SearchRequest.builder()
+				.states(Set.of(SchemaState.APPROVED))
+				.build()).size());
+	}
+
+	@Test
+	void testSearchSortedIsCachedUntilChanged() {
+		final var registry = new SchemaRegistry();
+		registry.add(getSchemaDetails("org1", "schema2", SchemaState.APPROVED));
+		registry.add(getSchemaDetails("org1", "schema1", SchemaState.APPROVED));
+		final var searchRequest = SearchRequest.builder()
+				.orgIds(Set.of("org1"))
+				.build();
+		final var sorted = registry.searchSorted(searchRequest);
+		Assertions.assertEquals(2, sorted.size());
+		Assertions.assertTrue(sorted.get(0).getReferenceId().compareTo(sorted.get(1).getReferenceId()) < 0);
+		Assertions.assertSame(sorted, registry.searchSorted(searchRequest));
+		registry.add(getSchemaDetails("org1", "schema3", SchemaState.APPROVED));
+		Assertions.assertEquals(3, registry.searchSorted(searchRequest).size());
+	}
+}
@@ -24,6 +24,8 @@ import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 class SchemaUtilsTest {
@@ -48,4 +50,44 @@ class SchemaUtilsTest {
 		Assertions.assertNotNull(matchingSchema);
 		Assertions.assertEquals("V1234", matchingSchema.getSchemaKey().getVersion());
 	}
+
+	@Test
+	@SneakyThrows
+	void testFingerprint() {
+		final var allSchemas = ResourceHelper.getResource("schema/allSchemas.json",
+				new TypeReference<List<SchemaDetails>>() {
+				});
+		final var fingerprint = SchemaUtils.getFingerprint(allSchemas);
+		final var reversed = new ArrayList<>(allSchemas);
+		Collections.reverse(reversed);
+		Assertions.assertEquals(fingerprint, SchemaUtils.getFingerprint(reversed));
+		Assertions.assertNotEquals(fingerprint, SchemaUtils.getFingerprint(allSchemas.subList(0, 2)));
+		allSchemas.get(0).setUpdatedAt(System.currentTimeMillis());
+		Assertions.assertNotEquals(fingerprint, SchemaUtils.getFingerprint(allSchemas));
+	}
+
+	@Test
+	@SneakyThrows
+	void testPaging() {
+		final var allSchemas = ResourceHelper.getResource("schema/allSchemas.json",
+				new TypeReference<List<SchemaDetails>>() {
+				});
+		final var firstPage = SchemaUtils.getPage(allSchemas, null, 2);
+		Assertions.assertEquals(2, firstPage.getSchemas().size());
+		Assertions.assertNotNull(firstPage.getNextCursor());
+		final var lastPage = SchemaUtils.getPage(allSchemas, firstPage.getNextCursor(), 2);
+		Assertions.assertEquals(1, lastPage.getSchemas().size());
+		Assertions.assertNull(lastPage.getNextCursor());
+
+		final var paged = new ArrayList<String>();
+		firstPage.getSchemas().forEach(schemaDetails -> paged.add(schemaDetails.getReferenceId()));
+		lastPage.getSchemas().forEach(schemaDetails -> paged.add(schemaDetails.getReferenceId()));
+		final var expected = new ArrayList<>(allSchemas.stream().map(SchemaDetails::getReferenceId).toList());
+		Collections.sort(expected);
+		Assertions.assertEquals(expected, paged);
+		Assertions.assertTrue(SchemaUtils.getPage(allSchemas, expected.get(2), 2).getSchemas().isEmpty());
+		Assertions.assertEquals(expected.get(1), SchemaUtils.getPage(allSchemas, expected.get(0) + "\0", 1)
+				.getSchemas().get(0).getReferenceId());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> SchemaUtils.getPage(allSchemas, null, 0));
+	}
 }
@@ -20,17 +20,23 @@ package com.grookage.leia.mux;
 import com.google.common.base.Preconditions;
 import com.grookage.leia.models.exception.LeiaException;
 import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.dedup.MessageDeduplicator;
 import com.grookage.leia.mux.exception.LeiaProcessorErrorCode;
 import com.grookage.leia.mux.executor.MessageExecutor;
 import com.grookage.leia.mux.executor.MessageExecutorFactory;
 import com.grookage.leia.mux.filter.BackendFilter;
+import com.grookage.leia.mux.priority.Priority;
+import com.grookage.leia.mux.priority.PriorityDispatcher;
 import com.grookage.leia.mux.resolver.BackendNameResolver;
+import com.grookage.leia.mux.resolver.PriorityResolver;
+import com.grookage.leia.mux.resolver.TagBasedPriorityResolver;
 import com.grookage.leia.mux.util.MdcUtils;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 
+import java.io.Closeable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -41,21 +47,34 @@ import java.util.stream.Collectors;
 
 @Data
 @Slf4j
-public class DefaultMessageProcessor implements MessageProcessor {
+public class DefaultMessageProcessor implements MessageProcessor, Closeable {
 
 	private final String name;
 	private final long processingThresholdMs;
 	private final BackendNameResolver backendNameResolver;
 	private final MessageExecutorFactory executorFactory;
 	private final ExecutorService executorService;
+	private final PriorityResolver priorityResolver;
+	private final PriorityDispatcher priorityDispatcher;
+	private final MessageDeduplicator deduplicator;
 	private final int DEFAULT_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
 
+	/*
+		Sends are split per executor and Priority (see TagBasedPriorityResolver for the default), and each priority
+		gets its own lane on executorService, weighted by priorityWeights or Priority's defaults. Lanes listed in
+		reservedThreads also get threads of their own, which close shuts down. With a deduplicator,
+		likely duplicates of recently dispatched messages are dropped before any executor sees them.
+	 */
 	@Builder
 	protected DefaultMessageProcessor(String name,
 									  long processingThresholdMs,
 									  BackendNameResolver backendNameResolver,
 									  MessageExecutorFactory executorFactory,
-									  ExecutorService executorService) {
+									  ExecutorService executorService,
+									  PriorityResolver priorityResolver,
+									  Map<Priority, Integer> priorityWeights,
+									  Map<Priority, Integer> reservedThreads,
+									  MessageDeduplicator deduplicator) {
 		Preconditions.checkNotNull(backendNameResolver, "Backend Resolver can't be null");
 		Preconditions.checkNotNull(executorFactory, "Executor Factory can't be null");
 		this.executorService = executorService == null ? Executors.newFixedThreadPool(DEFAULT_THREAD_POOL_SIZE): executorService;
@@ -63,6 +82,17 @@ public class DefaultMessageProcessor implements MessageProcessor {
 		this.processingThresholdMs = processingThresholdMs;
 		this.backendNameResolver = backendNameResolver;
 		this.executorFactory = executorFactory;
+		this.priorityResolver = null == priorityResolver ? new TagBasedPriorityResolver() : priorityResolver;
+		this.priorityDispatcher = new PriorityDispatcher(this.executorService, priorityWeights, reservedThreads);
+		this.deduplicator = deduplicator;
+	}
+
+	protected DefaultMessageProcessor(String name,
+	                                  long processingThresholdMs,
+	                                  BackendNameResolver backendNameResolver,
+	                                  MessageExecutorFactory executorFactory,
+	                                  ExecutorService executorService) {
+		this(name, processingThresholdMs, backendNameResolver, executorFactory, executorService, null, null, null, null);
 	}
 
 	@Deprecated(forRemoval = true, since = "1.1.2")
@@ -70,7 +100,7 @@ public class DefaultMessageProcessor implements MessageProcessor {
 	                                  long processingThresholdMs,
 	                                  BackendNameResolver backendNameResolver,
 	                                  MessageExecutorFactory executorFactory) {
-		this(name, processingThresholdMs, backendNameResolver, executorFactory, null);
+		this(name, processingThresholdMs, backendNameResolver, executorFactory, null, null, null, null, null);
 	}
 
 	protected boolean validBackends(Set<String> backends) {
@@ -81,10 +111,14 @@ public class DefaultMessageProcessor implements MessageProcessor {
 		return null != executor;
 	}
 
-	private Map<MessageExecutor, List<LeiaMessage>> getExecutorMapping(List<LeiaMessage> messages,
-	                                                                   BackendFilter backendFilter) {
-		final var executorMapping = new HashMap<MessageExecutor, List<LeiaMessage>>();
+	private record Dispatch(MessageExecutor executor, Priority priority) {
+	}
+
+	private Map<Dispatch, List<LeiaMessage>> getExecutorMapping(List<LeiaMessage> messages,
+	                                                            BackendFilter backendFilter) {
+		final var executorMapping = new HashMap<Dispatch, List<LeiaMessage>>();
 		messages.forEach(message -> {
+			final var priority = priorityResolver.getPriority(message);
 			final var backends = backendNameResolver.getEligibleBackends(message)
 					.stream()
 					.filter(backendFilter::shouldProcess)
@@ -99,15 +133,62 @@ public class DefaultMessageProcessor implements MessageProcessor {
 					log.error("No executor found for backend name {}", backend);
 					throw LeiaException.error(LeiaProcessorErrorCode.EXECUTOR_NOT_FOUND);
 				}
-				executorMapping.computeIfAbsent(executor, k -> new ArrayList<>()).add(message);
+				executorMapping.computeIfAbsent(new Dispatch(executor, priority), k -> new ArrayList<>()).add(message);
 			});
 		});
 
 		return executorMapping;
 	}
 
+	private CompletableFuture<Void> send(Dispatch dispatch,
+	                                     List<LeiaMessage> messages,
+	                                     Map<String, String> mdcContext) {
+		final var executor = dispatch.executor();
+		final var lane = priorityDispatcher.lane(dispatch.priority());
+		if (executor.isAsync()) {
+			return executor.sendAsync(messages, task -> lane.execute(MdcUtils.decorateWithMdc(task, mdcContext)));
+		}
+		return CompletableFuture.runAsync(
+				MdcUtils.decorateWithMdc(() -> executor.send(messages), mdcContext), lane);
+	}
+
 	public void processMessages(List<LeiaMessage> messages,
 	                            BackendFilter backendFilter) {
+		if (null == deduplicator) {
+			dispatch(messages, backendFilter);
+			return;
+		}
+		final var eligibleMessages = new ArrayList<LeiaMessage>();
+		final var claimedKeys = new ArrayList<String>();
+		messages.forEach(message -> {
+			final var key = deduplicator.getKey(message);
+			if (deduplicator.tryClaim(message, key)) {
+				eligibleMessages.add(message);
+				claimedKeys.add(key);
+			}
+		});
+		if (eligibleMessages.isEmpty() && !messages.isEmpty()) {
+			log.debug("All messages of the request were dropped as duplicates");
+			return;
+		}
+		/*
+			Claims of a failed request are released, so its messages aren't dropped when the caller retries.
+		 */
+		var dispatched = false;
+		try {
+			dispatch(eligibleMessages, backendFilter);
+			dispatched = true;
+		} finally {
+			if (dispatched) {
+				claimedKeys.forEach(deduplicator::record);
+			} else {
+				claimedKeys.forEach(deduplicator::release);
+			}
+		}
+	}
+
+	private void dispatch(List<LeiaMessage> messages,
+	                      BackendFilter backendFilter) {
 		final var executorMapping = getExecutorMapping(messages, backendFilter);
 		if (executorMapping.isEmpty()) {
 			log.debug("Haven't found any eligible executors with the set of messages {}", messages);
@@ -117,8 +198,7 @@ public class DefaultMessageProcessor implements MessageProcessor {
 		final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
 		final var futures = CompletableFuture.allOf(
 				executorMapping.entrySet().stream()
-						.map(each -> CompletableFuture.runAsync(
-								MdcUtils.decorateWithMdc(() -> each.getKey().send(each.getValue()), mdcContext), executorService))
+						.map(each -> send(each.getKey(), each.getValue(), mdcContext))
 						.toArray(CompletableFuture[]::new));
 		try {
 			futures.get(getProcessingThresholdMs(), TimeUnit.MILLISECONDS);
@@ -133,6 +213,11 @@ public class DefaultMessageProcessor implements MessageProcessor {
 		}
 	}
 
+	@Override
+	public void close() {
+		priorityDispatcher.close();
+	}
+
 	@Override
 	public int hashCode() {
 		return this.getName().hashCode();
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.breaker;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+	Count based circuit breaker for a single executor. Callers ask tryAcquirePermission before a send and report the
+	send through onResult; a permission that ends up unused (say the send was shed locally) is handed back through
+	releasePermission so that half-open trials aren't lost. Listeners are told about every state change, outside the
+	breaker's lock.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+	@Getter
+	private final String name;
+	@Getter
+	private final CircuitBreakerConfig config;
+	private final boolean[] failed;
+	private final boolean[] slow;
+	private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+	private final Map<CircuitState, AtomicLong> transitions = new EnumMap<>(CircuitState.class);
+	private final AtomicLong rejectedCount = new AtomicLong();
+	@Getter
+	private volatile CircuitState state = CircuitState.CLOSED;
+	private int position;
+	private int calls;
+	private int failures;
+	private int slowCalls;
+	private long openedAt;
+	private int halfOpenIssued;
+
+	public CircuitBreaker(final String name, final CircuitBreakerConfig config) {
+		Preconditions.checkNotNull(config, "Circuit breaker config can't be null");
+		Preconditions.checkArgument(config.getWindowSize() > 0, "windowSize should be positive");
+		Preconditions.checkArgument(config.getHalfOpenPermittedCalls() > 0, "halfOpenPermittedCalls should be positive");
+		this.name = name;
+		this.config = config;
+		this.failed = new boolean[config.getWindowSize()];
+		this.slow = new boolean[config.getWindowSize()];
+		for (final var each : CircuitState.values()) {
+			transitions.put(each, new AtomicLong());
+		}
+	}
+
+	public void addListener(final CircuitBreakerListener listener) {
+		listeners.add(listener);
+	}
+
+	public boolean tryAcquirePermission() {
+		CircuitState from = null;
+		final boolean permitted;
+		synchronized (this) {
+			if (state == CircuitState.OPEN && System.currentTimeMillis() - openedAt >= config.getOpenDurationMs()) {
+				from = transition(CircuitState.HALF_OPEN);
+			}
+			if (state == CircuitState.HALF_OPEN) {
+				permitted = halfOpenIssued < getHalfOpenPermittedCalls();
+				if (permitted) {
+					halfOpenIssued++;
+				}
+			} else {
+				permitted = state == CircuitState.CLOSED;
+			}
+		}
+		if (!permitted) {
+			rejectedCount.incrementAndGet();
+		}
+		notifyListeners(from, CircuitState.HALF_OPEN);
+		return permitted;
+	}
+
+	public synchronized void releasePermission() {
+		if (state == CircuitState.HALF_OPEN && halfOpenIssued > 0) {
+			halfOpenIssued--;
+		}
+	}
+
+	public void onResult(final long latencyMs, final boolean successful) {
+		CircuitState from = null;
+		CircuitState to = null;
+		synchronized (this) {
+			if (state == CircuitState.OPEN) {
+				return;
+			}
+			record(!successful, latencyMs > config.getSlowCallDurationMs());
+			if (state == CircuitState.CLOSED && calls >= config.getMinimumCalls() && unhealthy()) {
+				to = CircuitState.OPEN;
+			} else if (state == CircuitState.HALF_OPEN && calls >= getHalfOpenPermittedCalls()) {
+				to = unhealthy() ? CircuitState.OPEN : CircuitState.CLOSED;
+			}
+			if (null != to) {
+				from = transition(to);
+			}
+		}
+		notifyListeners(from, to);
+	}
+
+	private void record(final boolean failure, final boolean slowCall) {
+		if (calls == failed.length) {
+			failures -= failed[position] ? 1 : 0;
+			slowCalls -= slow[position] ? 1 : 0;
+		} else {
+			calls++;
+		}
+		failed[position] = failure;
+		slow[position] = slowCall;
+		failures += failure ? 1 : 0;
+		slowCalls += slowCall ? 1 : 0;
+		position = (position + 1) % failed.length;
+	}
+
+	private int getHalfOpenPermittedCalls() {
+		return Math.min(config.getHalfOpenPermittedCalls(), failed.length);
+	}
+
+	private boolean unhealthy() {
+		return getFailureRate() >= config.getFailureRateThreshold() ||
+				getSlowCallRate() >= config.getSlowCallRateThreshold();
+	}
+
+	/*
+		Moves to the given state, starting a fresh window, and returns the state it moved from. Callers hold the lock.
+	 */
+	private CircuitState transition(final CircuitState to) {
+		final var from = state;
+		state = to;
+		position = 0;
+		calls = 0;
+		failures = 0;
+		slowCalls = 0;
+		halfOpenIssued = 0;
+		if (to == CircuitState.OPEN) {
+			openedAt = System.currentTimeMillis();
+		}
+		transitions.get(to).incrementAndGet();
+		return from;
+	}
+
+	private void notifyListeners(final CircuitState from, final CircuitState to) {
+		if (null == from || null == to) {
+			return;
+		}
+		log.info("Circuit breaker for {} moved from {} to {}", name, from, to);
+		listeners.forEach(listener -> {
+			try {
+				listener.onStateTransition(name, from, to);
+			} catch (Exception e) {
+				log.error("Circuit breaker listener for {} has failed", name, e);
+			}
+		});
+	}
+
+	public synchronized double getFailureRate() {
+		return calls == 0 ? 0 : (double) failures / calls;
+	}
+
+	public synchronized double getSlowCallRate() {
+		return calls == 0 ? 0 : (double) slowCalls / calls;
+	}
+
+	/*
+		Number of times the breaker has moved into the given state.
+	 */
+	public long getTransitionCount(final CircuitState to) {
+		return transitions.get(to).get();
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+}
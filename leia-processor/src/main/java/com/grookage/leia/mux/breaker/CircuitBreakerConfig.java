@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.breaker;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+
+/**
+ * The circuit opens once at least minimumCalls of the last windowSize sends have completed and either the share that
+ * failed reaches failureRateThreshold, or the share that took longer than slowCallDurationMs reaches
+ * slowCallRateThreshold. After openDurationMs it lets halfOpenPermittedCalls trial sends through, and closes again
+ * only if those stay under both thresholds.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CircuitBreakerConfig {
+	@Builder.Default
+	boolean enabled = false;
+	@Min(1)
+	@Builder.Default
+	int windowSize = 100;
+	@Min(1)
+	@Builder.Default
+	int minimumCalls = 20;
+	@Builder.Default
+	double failureRateThreshold = 0.5;
+	@Builder.Default
+	double slowCallRateThreshold = 1.0;
+	@Builder.Default
+	long slowCallDurationMs = 5_000;
+	@Builder.Default
+	long openDurationMs = 30_000;
+	@Min(1)
+	@Builder.Default
+	int halfOpenPermittedCalls = 5;
+	@Builder.Default
+	OpenCircuitAction openAction = OpenCircuitAction.HANDLE_EXCEPTION;
+}
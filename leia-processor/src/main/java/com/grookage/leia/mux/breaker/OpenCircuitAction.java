@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.breaker;
+
+/*
+	What happens to a send while the circuit is open. FAIL_FAST throws the CIRCUIT_OPEN error back to the caller,
+	HANDLE_EXCEPTION hands the batch to onSendFailure, i.e. to the dead letter queue if one is attached, or to
+	handleException otherwise.
+ */
+public enum OpenCircuitAction {
+	FAIL_FAST,
+	HANDLE_EXCEPTION
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.deadletter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * Where failed batches are parked and how fast they are redriven. A batch only becomes eligible for replay once it has
+ * been in the log for replayDelayMs, and at most replayMessagesPerSecond messages are redriven per backend, in sends
+ * of up to replayBatchSize messages. Once compactThresholdBytes of a log have been replayed, the rest of it is copied
+ * to a new file, so a backend that keeps failing doesn't grow the log without bound.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DeadLetterConfig {
+	@NotEmpty
+	@Builder.Default
+	String path = "leia-dead-letters";
+	@Min(1)
+	@Builder.Default
+	int maxPendingAppends = 10_000;
+	@Builder.Default
+	boolean replayEnabled = true;
+	@Builder.Default
+	long replayIntervalMs = 5_000;
+	@Builder.Default
+	long replayDelayMs = 30_000;
+	@Builder.Default
+	double replayMessagesPerSecond = 100;
+	@Min(1)
+	@Builder.Default
+	int replayBatchSize = 100;
+	@Min(1)
+	@Builder.Default
+	long compactThresholdBytes = 4L * 1024 * 1024;
+}
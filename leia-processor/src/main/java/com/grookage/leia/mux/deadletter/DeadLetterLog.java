@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+	Append-only file of dead letters for a single backend, written as [length, failedAt, json] records, with a
+	separate 8 byte file holding the offset replay has reached. Every append and offset move is fsynced. Once replay
+	catches up with the end of the file both are truncated back to zero, and once the replayed prefix passes
+	compactThresholdBytes the rest of the log is copied to a new file that replaces it, so the log never holds much
+	more than the backlog. A partially written record at the end of the file (a crash mid-append) is cut off on open.
+ */
+@Slf4j
+public class DeadLetterLog implements Closeable {
+
+	public static final String LOG_SUFFIX = ".dlq";
+	private static final String COMPACT_SUFFIX = ".compacting";
+	private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+	private final String backendName;
+	private final ObjectMapper mapper;
+	private final long compactThresholdBytes;
+	private final Path logPath;
+	private FileChannel logChannel;
+	private final FileChannel offsetChannel;
+	private long readOffset;
+	private long depth;
+
+	public record Entry(DeadLetter deadLetter, long nextOffset) {
+	}
+
+	public DeadLetterLog(final Path directory,
+	                     final String backendName,
+	                     final ObjectMapper mapper,
+	                     final long compactThresholdBytes) throws IOException {
+		Files.createDirectories(directory);
+		this.backendName = backendName;
+		this.mapper = mapper;
+		this.compactThresholdBytes = compactThresholdBytes;
+		this.logPath = directory.resolve(backendName + LOG_SUFFIX);
+		Files.deleteIfExists(getCompactPath());
+		this.logChannel = FileChannel.open(logPath,
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.offsetChannel = FileChannel.open(directory.resolve(backendName + LOG_SUFFIX + ".offset"),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.readOffset = readStoredOffset();
+		recover();
+	}
+
+	private Path getCompactPath() {
+		return logPath.resolveSibling(logPath.getFileName() + COMPACT_SUFFIX);
+	}
+
+	private long readStoredOffset() throws IOException {
+		final var buffer = ByteBuffer.allocate(Long.BYTES);
+		if (offsetChannel.read(buffer, 0) < Long.BYTES) {
+			return 0;
+		}
+		return buffer.flip().getLong();
+	}
+
+	private void recover() throws IOException {
+		final var size = logChannel.size();
+		if (readOffset > size) {
+			log.warn("Dead letter offset {} for backend {} is past the end of the log, replaying from the start",
+					readOffset, backendName);
+			readOffset = 0;
+		}
+		var position = readOffset;
+		final var header = ByteBuffer.allocate(HEADER_SIZE);
+		while (position + HEADER_SIZE <= size) {
+			header.clear();
+			logChannel.read(header, position);
+			final var length = header.flip().getInt();
+			if (length < 0 || position + HEADER_SIZE + length > size) {
+				break;
+			}
+			position += HEADER_SIZE + length;
+			depth++;
+		}
+		if (position < size) {
+			log.warn("Truncating a partially written dead letter for backend {} at offset {}", backendName, position);
+			logChannel.truncate(position);
+			logChannel.force(true);
+		}
+	}
+
+	public synchronized void append(final DeadLetter deadLetter) throws IOException {
+		final var payload = mapper.writeValueAsBytes(deadLetter);
+		final var buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+				.putInt(payload.length)
+				.putLong(deadLetter.getFailedAt())
+				.put(payload)
+				.flip();
+		var position = logChannel.size();
+		while (buffer.hasRemaining()) {
+			position += logChannel.write(buffer, position);
+		}
+		logChannel.force(false);
+		depth++;
+	}
+
+	/*
+		Reads records from the replay offset until maxMessages messages are collected (always at least one record),
+		stopping at the first one that failed after notAfter.
+	 */
+	public synchronized List<Entry> peek(final int maxMessages, final long notAfter) throws IOException {
+		final var entries = new ArrayList<Entry>();
+		final var size = logChannel.size();
+		final var header = ByteBuffer.allocate(HEADER_SIZE);
+		var position = readOffset;
+		var messages = 0;
+		while (position + HEADER_SIZE <= size && (entries.isEmpty() || messages < maxMessages)) {
+			header.clear();
+			logChannel.read(header, position);
+			header.flip();
+			final var length = header.getInt();
+			final var failedAt = header.getLong();
+			if (failedAt > notAfter) {
+				break;
+			}
+			final var payload = ByteBuffer.allocate(length);
+			while (payload.hasRemaining()) {
+				logChannel.read(payload, position + HEADER_SIZE + payload.position());
+			}
+			final var deadLetter = mapper.readValue(payload.array(), DeadLetter.class);
+			final var batchSize = null == deadLetter.getMessages() ? 0 : deadLetter.getMessages().size();
+			if (!entries.isEmpty() && messages + batchSize > maxMessages) {
+				break;
+			}
+			position += HEADER_SIZE + length;
+			messages += batchSize;
+			entries.add(new Entry(deadLetter, position));
+		}
+		return entries;
+	}
+
+	public synchronized void commit(final long offset, final int records) throws IOException {
+		depth = Math.max(0, depth - records);
+		if (offset >= logChannel.size()) {
+			logChannel.truncate(0);
+			logChannel.force(true);
+			readOffset = 0;
+			depth = 0;
+		} else if (offset >= compactThresholdBytes) {
+			compact(offset);
+			return;
+		} else {
+			readOffset = offset;
+		}
+		storeOffset();
+	}
+
+	private void storeOffset() throws IOException {
+		offsetChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, readOffset), 0);
+		offsetChannel.force(false);
+	}
+
+	/*
+		The offset is reset before the copy replaces the log. A crash in between replays the already committed records
+		again, but never starts reading from the middle of one.
+	 */
+	private void compact(final long offset) throws IOException {
+		final var compactPath = getCompactPath();
+		try (final var target = FileChannel.open(compactPath, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			final var size = logChannel.size();
+			var position = offset;
+			while (position < size) {
+				position += logChannel.transferTo(position, size - position, target);
+			}
+			target.force(true);
+		}
+		readOffset = 0;
+		storeOffset();
+		Files.move(compactPath, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		logChannel.close();
+		logChannel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		log.debug("Compacted {} replayed bytes out of the dead letter log of backend {}", offset, backendName);
+	}
+
+	public synchronized long getDepth() {
+		return depth;
+	}
+
+	/*
+		failedAt of the oldest record still waiting for replay, or -1 when the log is empty.
+	 */
+	public synchronized long getOldestFailedAt() throws IOException {
+		if (readOffset + HEADER_SIZE > logChannel.size()) {
+			return -1;
+		}
+		final var failedAt = ByteBuffer.allocate(Long.BYTES);
+		logChannel.read(failedAt, readOffset + Integer.BYTES);
+		return failedAt.flip().getLong();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		logChannel.close();
+		offsetChannel.close();
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.executor.MessageExecutorFactory;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+	Parks batches that failed to send in a durable per-backend DeadLetterLog and redrives them to the same backend
+	later. Appends are handed to a single writer thread, so the sending thread only pays for an enqueue; once
+	maxPendingAppends are waiting, the caller writes the batch itself rather than dropping it.
+
+	Replay calls the executor's sendEnvelope directly. A batch is committed out of the log once sendEnvelope returns, and
+	left in place to be retried on the next run if it throws. Executors that report failures through onSendFailure
+	instead of throwing dead letter the batch again, which moves it to the back of the log; the pass stops there
+	rather than cycling the whole log through a backend that is still failing.
+ */
+@Slf4j
+public class DeadLetterQueue implements Closeable {
+
+	private final DeadLetterConfig config;
+	private final ObjectMapper mapper;
+	private final MessageExecutorFactory executorFactory;
+	private final Map<String, DeadLetterLog> logs = new ConcurrentHashMap<>();
+	private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+	private final ExecutorService writer;
+	private final ScheduledExecutorService replayer;
+	private final Map<String, AtomicLong> submittedCounts = new ConcurrentHashMap<>();
+	private final AtomicLong appendedCount = new AtomicLong();
+	private final AtomicLong appendFailures = new AtomicLong();
+	private final AtomicLong replayedCount = new AtomicLong();
+	private final AtomicLong replayFailures = new AtomicLong();
+
+	@Builder
+	public DeadLetterQueue(final DeadLetterConfig config,
+	                       final ObjectMapper mapper,
+	                       final MessageExecutorFactory executorFactory) {
+		Preconditions.checkNotNull(mapper, "Mapper can't be null");
+		Preconditions.checkNotNull(executorFactory, "Executor Factory can't be null");
+		this.config = null == config ? DeadLetterConfig.builder().build() : config;
+		this.mapper = mapper;
+		this.executorFactory = executorFactory;
+		this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(this.config.getMaxPendingAppends()),
+				new ThreadFactoryBuilder().setNameFormat("leia-dlq-writer-%d").setDaemon(true).build(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		openExistingLogs();
+		this.replayer = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat("leia-dlq-replayer-%d").setDaemon(true).build());
+		if (this.config.isReplayEnabled()) {
+			replayer.scheduleWithFixedDelay(this::replay, this.config.getReplayIntervalMs(),
+					this.config.getReplayIntervalMs(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/*
+		Picks up logs left behind by a previous run, so that their backlog is replayed without waiting for a new failure.
+	 */
+	@SneakyThrows
+	private void openExistingLogs() {
+		final var directory = Path.of(config.getPath());
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (final var files = Files.list(directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(fileName -> fileName.endsWith(DeadLetterLog.LOG_SUFFIX))
+					.map(fileName -> fileName.substring(0, fileName.length() - DeadLetterLog.LOG_SUFFIX.length()))
+					.forEach(this::getLog);
+		}
+	}
+
+	@SneakyThrows
+	private DeadLetterLog getLog(final String backendName) {
+		final var existing = logs.get(backendName);
+		if (null != existing) {
+			return existing;
+		}
+		synchronized (logs) {
+			final var current = logs.get(backendName);
+			if (null != current) {
+				return current;
+			}
+			final var created = new DeadLetterLog(Path.of(config.getPath()), backendName, mapper,
+					config.getCompactThresholdBytes());
+			logs.put(backendName, created);
+			return created;
+		}
+	}
+
+	public CompletableFuture<Void> append(final String backendName,
+	                                      final List<LeiaMessage> messages,
+	                                      final Exception cause) {
+		final var deadLetter = DeadLetter.builder()
+				.backendName(backendName)
+				.failedAt(System.currentTimeMillis())
+				.cause(null == cause ? null : cause.getMessage())
+				.messages(messages)
+				.build();
+		getSubmittedCount(backendName).incrementAndGet();
+		return CompletableFuture.runAsync(() -> {
+			try {
+				getLog(backendName).append(deadLetter);
+				appendedCount.incrementAndGet();
+			} catch (Exception e) {
+				appendFailures.incrementAndGet();
+				log.error("Couldn't dead letter {} messages for backend {}", messages.size(), backendName, e);
+			}
+		}, writer);
+	}
+
+	/*
+		Counted when append is called rather than once the write is done, so that replay can tell right after a send
+		whether the backend dead lettered anything.
+	 */
+	private AtomicLong getSubmittedCount(final String backendName) {
+		return submittedCounts.computeIfAbsent(backendName, key -> new AtomicLong());
+	}
+
+	private RateLimiter getRateLimiter(final String backendName) {
+		return rateLimiters.computeIfAbsent(backendName, key -> RateLimiter.create(config.getReplayMessagesPerSecond()));
+	}
+
+	/*
+		One pass over every backend's log, sending eligible batches for as long as the backend's rate limit allows.
+		A backend that fails a replay is left alone until the next pass.
+	 */
+	public void replay() {
+		logs.forEach((backendName, deadLetterLog) -> {
+			try {
+				replay(backendName, deadLetterLog);
+			} catch (Exception e) {
+				log.error("Replaying dead letters for backend {} has failed", backendName, e);
+			}
+		});
+	}
+
+	private void replay(final String backendName, final DeadLetterLog deadLetterLog) throws Exception {
+		final var executor = executorFactory.getExecutor(backendName).orElse(null);
+		if (null == executor) {
+			log.warn("No executor found for backend {}, leaving {} dead letters in place", backendName,
+					deadLetterLog.getDepth());
+			return;
+		}
+		final var rateLimiter = getRateLimiter(backendName);
+		final var submittedCount = getSubmittedCount(backendName);
+		while (!replayer.isShutdown()) {
+			final var entries = deadLetterLog.peek(config.getReplayBatchSize(),
+					System.currentTimeMillis() - config.getReplayDelayMs());
+			if (entries.isEmpty()) {
+				return;
+			}
+			final var messages = entries.stream()
+					.filter(entry -> null != entry.deadLetter().getMessages())
+					.flatMap(entry -> entry.deadLetter().getMessages().stream())
+					.toList();
+			if (!messages.isEmpty() && !rateLimiter.tryAcquire(messages.size())) {
+				return;
+			}
+			final var submittedBefore = submittedCount.get();
+			try {
+				if (!messages.isEmpty()) {
+					executor.sendEnvelope(messages);
+				}
+			} catch (Exception e) {
+				replayFailures.incrementAndGet();
+				log.error("Replaying {} dead lettered messages to backend {} has failed", messages.size(), backendName, e);
+				return;
+			}
+			deadLetterLog.commit(entries.get(entries.size() - 1).nextOffset(), entries.size());
+			if (submittedCount.get() != submittedBefore) {
+				replayFailures.incrementAndGet();
+				log.warn("Replayed {} messages were dead lettered again by backend {}, stopping this pass",
+						messages.size(), backendName);
+				return;
+			}
+			replayedCount.addAndGet(messages.size());
+		}
+	}
+
+	public long getDepth() {
+		return logs.values().stream().mapToLong(DeadLetterLog::getDepth).sum();
+	}
+
+	public long getDepth(final String backendName) {
+		final var deadLetterLog = logs.get(backendName);
+		return null == deadLetterLog ? 0 : deadLetterLog.getDepth();
+	}
+
+	/*
+		How long the oldest batch across all backends has been waiting, 0 when nothing is.
+	 */
+	@SneakyThrows
+	public long getOldestAgeMs() {
+		final var now = System.currentTimeMillis();
+		var oldestAgeMs = 0L;
+		for (final var deadLetterLog : logs.values()) {
+			final var failedAt = deadLetterLog.getOldestFailedAt();
+			if (failedAt >= 0) {
+				oldestAgeMs = Math.max(oldestAgeMs, now - failedAt);
+			}
+		}
+		return oldestAgeMs;
+	}
+
+	public long getAppendedCount() {
+		return appendedCount.get();
+	}
+
+	public long getAppendFailures() {
+		return appendFailures.get();
+	}
+
+	public long getReplayedCount() {
+		return replayedCount.get();
+	}
+
+	public long getReplayFailures() {
+		return replayFailures.get();
+	}
+
+	@Override
+	@SneakyThrows
+	public void close() {
+		replayer.shutdown();
+		writer.shutdown();
+		writer.awaitTermination(config.getReplayIntervalMs(), TimeUnit.MILLISECONDS);
+		replayer.awaitTermination(config.getReplayIntervalMs(), TimeUnit.MILLISECONDS);
+		for (final var deadLetterLog : logs.values()) {
+			deadLetterLog.close();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.dedup;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * A message is identified by the value at identityPath (a JsonPath into its payload) together with its SchemaKey, and
+ * remembered for between windowMs and twice that. expectedInsertions and falsePositiveRate size each of the two Bloom
+ * filter generations, so memory stays fixed however many messages go through.
+ */
+@Data
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DedupConfig {
+	@NotEmpty
+	String identityPath;
+	@Min(1)
+	@Builder.Default
+	long windowMs = 60_000;
+	@Min(1)
+	@Builder.Default
+	long expectedInsertions = 1_000_000;
+	@Builder.Default
+	double falsePositiveRate = 0.001;
+}
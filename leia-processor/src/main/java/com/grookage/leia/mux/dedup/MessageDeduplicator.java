@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.dedup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.ParseContext;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+	Drops messages that were already dispatched within the configured window. tryClaim checks and claims a key in one
+	step, so the same message twice in a request or in concurrent requests only gets through once. A claimed key stays
+	pending until record (the send went through) or release (it failed, and the message may be retried). isDuplicate
+	only looks. Messages without a value at identityPath are never treated as duplicates.
+	The path is compiled once, and callers that claim and then record or release a message can read its key once
+	through getKey and pass it along, rather than evaluating the path for every step.
+ */
+@Slf4j
+public class MessageDeduplicator {
+
+	private static final ParseContext PARSE_CONTEXT = JsonPath.using(Configuration.builder()
+			.jsonProvider(new JacksonJsonNodeJsonProvider())
+			.mappingProvider(new JacksonMappingProvider())
+			.options(Option.SUPPRESS_EXCEPTIONS)
+			.build());
+
+	@Getter
+	private final DedupConfig config;
+	private final JsonPath identityPath;
+	private final RotatingBloomFilter filter;
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+	private final AtomicLong checkedCount = new AtomicLong();
+	private final AtomicLong duplicateCount = new AtomicLong();
+
+	public MessageDeduplicator(final DedupConfig config) {
+		Preconditions.checkNotNull(config, "Dedup config can't be null");
+		Preconditions.checkArgument(null != config.getIdentityPath() && !config.getIdentityPath().isBlank(),
+				"identityPath can't be empty");
+		this.config = config;
+		this.identityPath = JsonPath.compile(config.getIdentityPath());
+		this.filter = new RotatingBloomFilter(config.getWindowMs(), config.getExpectedInsertions(),
+				config.getFalsePositiveRate());
+	}
+
+	/*
+		Null when the message has nothing at identityPath
+	 */
+	public String getKey(final LeiaMessage message) {
+		if (null == message.getMessage() || null == message.getSchemaKey()) {
+			return null;
+		}
+		final Object identity = PARSE_CONTEXT.parse(message.getMessage()).read(identityPath);
+		if (null == identity || (identity instanceof JsonNode node && node.isNull())) {
+			return null;
+		}
+		return message.getSchemaKey().getReferenceId() + "|" + identity;
+	}
+
+	private boolean onDuplicate(final LeiaMessage message) {
+		duplicateCount.incrementAndGet();
+		log.debug("Dropping a likely duplicate message for schema {}", message.getSchemaKey().getReferenceId());
+		return true;
+	}
+
+	public boolean isDuplicate(final LeiaMessage message) {
+		checkedCount.incrementAndGet();
+		final var key = getKey(message);
+		if (null == key || (!pending.contains(key) && !filter.mightContain(key))) {
+			return false;
+		}
+		return onDuplicate(message);
+	}
+
+	/*
+		Returns false for a duplicate. record moves a key into the filter before dropping it from pending, so a
+		concurrent claim always sees it in one of the two.
+	 */
+	public boolean tryClaim(final LeiaMessage message) {
+		return tryClaim(message, getKey(message));
+	}
+
+	public boolean tryClaim(final LeiaMessage message, final String key) {
+		checkedCount.incrementAndGet();
+		if (null == key) {
+			return true;
+		}
+		if (pending.add(key)) {
+			if (!filter.mightContain(key)) {
+				return true;
+			}
+			pending.remove(key);
+		}
+		return !onDuplicate(message);
+	}
+
+	public void record(final LeiaMessage message) {
+		record(getKey(message));
+	}
+
+	public void record(final String key) {
+		if (null != key) {
+			filter.put(key);
+			pending.remove(key);
+		}
+	}
+
+	public void release(final LeiaMessage message) {
+		release(getKey(message));
+	}
+
+	public void release(final String key) {
+		if (null != key) {
+			pending.remove(key);
+		}
+	}
+
+	public long getCheckedCount() {
+		return checkedCount.get();
+	}
+
+	public long getDuplicateCount() {
+		return duplicateCount.get();
+	}
+
+	public double getHitRate() {
+		final var checked = checkedCount.get();
+		return checked == 0 ? 0 : (double) duplicateCount.get() / checked;
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.dedup;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+	Two Bloom filter generations, rotated every windowMs. Lookups check both and inserts go to the current one, so a
+	key is remembered for at least one full window and at most two.
+ */
+public class RotatingBloomFilter {
+
+	private final long windowMs;
+	private final long expectedInsertions;
+	private final double falsePositiveRate;
+	private volatile BloomFilter<CharSequence> current;
+	private volatile BloomFilter<CharSequence> previous;
+	private volatile long rotatedAt;
+
+	public RotatingBloomFilter(final long windowMs, final long expectedInsertions, final double falsePositiveRate) {
+		this.windowMs = windowMs;
+		this.expectedInsertions = expectedInsertions;
+		this.falsePositiveRate = falsePositiveRate;
+		this.current = newFilter();
+		this.previous = newFilter();
+		this.rotatedAt = System.currentTimeMillis();
+	}
+
+	private BloomFilter<CharSequence> newFilter() {
+		return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate);
+	}
+
+	private void rotateIfDue() {
+		if (System.currentTimeMillis() - rotatedAt < windowMs) {
+			return;
+		}
+		synchronized (this) {
+			final var now = System.currentTimeMillis();
+			if (now - rotatedAt < windowMs) {
+				return;
+			}
+			/*
+				A whole window without traffic means both generations are stale.
+			 */
+			previous = now - rotatedAt < 2 * windowMs ? current : newFilter();
+			current = newFilter();
+			rotatedAt = now;
+		}
+	}
+
+	public boolean mightContain(final String key) {
+		rotateIfDue();
+		return current.mightContain(key) || previous.mightContain(key);
+	}
+
+	public void put(final String key) {
+		rotateIfDue();
+		current.put(key);
+	}
+}
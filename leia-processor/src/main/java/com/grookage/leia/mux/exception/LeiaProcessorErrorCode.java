@@ -24,7 +24,9 @@ public enum LeiaProcessorErrorCode implements LeiaErrorCode {
 
 	BACKENDS_NOT_FOUND(500),
 
-	EXECUTOR_NOT_FOUND(500);
+	EXECUTOR_NOT_FOUND(500),
+
+	CIRCUIT_OPEN(503);
 
 	final int status;
 
@@ -16,17 +16,42 @@
 
 package com.grookage.leia.mux.executor;
 
+import com.grookage.leia.models.exception.LeiaException;
 import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.breaker.CircuitBreaker;
+import com.grookage.leia.mux.breaker.OpenCircuitAction;
+import com.grookage.leia.mux.deadletter.DeadLetterQueue;
+import com.grookage.leia.mux.exception.LeiaProcessorErrorCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @NoArgsConstructor
 public abstract class MessageExecutor {
 
+	/*
+		When set, failed batches are appended to the dead letter queue off the sending thread instead of being handed
+		to handleException, and replayed to this executor later.
+	 */
+	@Getter
+	@Setter
+	private DeadLetterQueue deadLetterQueue;
+
+	/*
+		When set, send is gated on the breaker and every sendEnvelope is reported to it, a throw counting as a
+		failure. See reportsOutcomes for executors that handle failures inside sendEnvelope.
+	 */
+	@Getter
+	@Setter
+	private CircuitBreaker circuitBreaker;
+
 	public abstract String getName();
 
 	public Set<Class<?>> getDroppableExceptions() {
@@ -41,16 +66,93 @@ public abstract class MessageExecutor {
 	}
 
 	public void send(List<LeiaMessage> messages) {
+		final var guarded = null != circuitBreaker && !reportsOutcomes();
+		if (guarded && !acquirePermission(messages)) {
+			return;
+		}
+		final var startTime = System.currentTimeMillis();
 		try {
 			sendEnvelope(messages);
+			if (guarded) {
+				recordOutcome(System.currentTimeMillis() - startTime, true);
+			}
 		} catch (Exception e) {
-			log.error("There is an error trying to send the messages to executor name {}. Trying the exception handler", getName());
-			final var exceptionIgnorable = isExceptionIgnorable(e);
-			if (exceptionIgnorable) {
-				log.debug("The exception occurred has been marked as ignorable, ignoring the exception processing", e);
-			} else {
-				handleException(messages, e);
+			final var rejection = getCircuitOpenError(e);
+			if (null != rejection) {
+				throw rejection;
 			}
+			if (guarded) {
+				recordOutcome(System.currentTimeMillis() - startTime, false);
+			}
+			onSendFailure(messages, e);
+		}
+	}
+
+	/*
+		Executors that don't surface failures from sendEnvelope, and instead ask acquirePermission and call
+		recordOutcome around each request themselves, return true so that send leaves the breaker alone.
+	 */
+	protected boolean reportsOutcomes() {
+		return false;
+	}
+
+	/*
+		False when the circuit is open. The batch has then already been dealt with as per the breaker's openAction;
+		with FAIL_FAST the CIRCUIT_OPEN error is thrown instead.
+	 */
+	protected boolean acquirePermission(List<LeiaMessage> messages) {
+		if (null == circuitBreaker || circuitBreaker.tryAcquirePermission()) {
+			return true;
+		}
+		final var exception = LeiaException.error(LeiaProcessorErrorCode.CIRCUIT_OPEN);
+		if (circuitBreaker.getConfig().getOpenAction() == OpenCircuitAction.FAIL_FAST) {
+			throw exception;
+		}
+		log.debug("Circuit for executor {} is open, skipping the send of {} messages", getName(), messages.size());
+		onSendFailure(messages, exception);
+		return false;
+	}
+
+	protected void recordOutcome(long latencyMs, boolean successful) {
+		if (null != circuitBreaker) {
+			circuitBreaker.onResult(latencyMs, successful);
+		}
+	}
+
+	private static LeiaException getCircuitOpenError(Throwable t) {
+		var cause = t;
+		while (null != cause) {
+			if (cause instanceof LeiaException leiaException &&
+					LeiaProcessorErrorCode.CIRCUIT_OPEN.name().equals(leiaException.getCode())) {
+				return leiaException;
+			}
+			cause = cause.getCause();
+		}
+		return null;
+	}
+
+	/*
+		Executors backed by a non-blocking client override this along with sendAsync, so that the processor can
+		wait on the returned future instead of parking one of its threads for the whole round trip. Any blocking work
+		the executor still has to do should be run on the blockingExecutor handed to sendAsync.
+	 */
+	public boolean isAsync() {
+		return false;
+	}
+
+	public CompletableFuture<Void> sendAsync(List<LeiaMessage> messages, Executor blockingExecutor) {
+		return CompletableFuture.runAsync(() -> send(messages), blockingExecutor);
+	}
+
+	protected void onSendFailure(List<LeiaMessage> messages, Exception e) {
+		log.error("There is an error trying to send the messages to executor name {}. Trying the exception handler", getName());
+		final var exceptionIgnorable = isExceptionIgnorable(e);
+		if (exceptionIgnorable) {
+			log.debug("The exception occurred has been marked as ignorable, ignoring the exception processing", e);
+		} else if (null != deadLetterQueue) {
+			deadLetterQueue.append(getName(), messages, e);
+		} else {
+			handleException(messages, e);
 		}
 	}
 
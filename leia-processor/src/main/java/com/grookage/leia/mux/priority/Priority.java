@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.priority;
+
+import lombok.Getter;
+
+/*
+	Dispatch lanes of DefaultMessageProcessor. The default weight is the share of pool slots a lane gets relative to
+	the others while all of them have work queued.
+ */
+@Getter
+public enum Priority {
+	HIGH(16),
+	NORMAL(4),
+	LOW(1);
+
+	private final int defaultWeight;
+
+	Priority(int defaultWeight) {
+		this.defaultWeight = defaultWeight;
+	}
+}
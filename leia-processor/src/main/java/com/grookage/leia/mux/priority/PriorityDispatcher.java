@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.priority;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+	Puts tasks into one queue per Priority and hands the underlying executor a placeholder for each. The task is only
+	picked when a thread picks up a placeholder, using smooth weighted round robin across the lanes that have work. A
+	burst of LOW tasks therefore doesn't sit in front of a later HIGH one in the executor's queue, and a busy HIGH lane
+	still leaves LOW its weighted share.
+	Once every thread of the executor is busy, the order of the queue no longer matters. A lane with reserved threads
+	therefore also hands each task to its own small pool, which only runs that lane's tasks, and whichever thread gets
+	to the task first runs it. Lanes only get reserved threads when reservedThreads asks for them, and close shuts
+	those threads down; the shared executor is left to its owner.
+ */
+@Slf4j
+public class PriorityDispatcher implements Closeable {
+
+	private final Executor executor;
+	private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+
+	private static class Lane {
+		private final int weight;
+		private final ExecutorService reserved;
+		private final Deque<Runnable> tasks = new ArrayDeque<>();
+		private int currentWeight;
+		private long dispatched;
+
+		private Lane(int weight, ExecutorService reserved) {
+			this.weight = weight;
+			this.reserved = reserved;
+		}
+	}
+
+	public PriorityDispatcher(final Executor executor, final Map<Priority, Integer> weights) {
+		this(executor, weights, Map.of());
+	}
+
+	public PriorityDispatcher(final Executor executor,
+	                          final Map<Priority, Integer> weights,
+	                          final Map<Priority, Integer> reservedThreads) {
+		Preconditions.checkNotNull(executor, "Executor can't be null");
+		this.executor = executor;
+		for (final var priority : Priority.values()) {
+			final var weight = null == weights ? null : weights.get(priority);
+			Preconditions.checkArgument(null == weight || weight > 0, "Lane weights should be positive");
+			final var reserved = null == reservedThreads ? null : reservedThreads.get(priority);
+			Preconditions.checkArgument(null == reserved || reserved >= 0, "Reserved threads can't be negative");
+			lanes.put(priority, new Lane(null == weight ? priority.getDefaultWeight() : weight,
+					null == reserved || reserved == 0 ? null : Executors.newFixedThreadPool(reserved,
+							new ThreadFactoryBuilder()
+									.setNameFormat("leia-lane-" + priority.name().toLowerCase() + "-%d")
+									.setDaemon(true)
+									.build())));
+		}
+	}
+
+	public Executor lane(final Priority priority) {
+		return task -> execute(priority, task);
+	}
+
+	public void execute(final Priority priority, final Runnable task) {
+		final var lane = lanes.get(priority);
+		synchronized (this) {
+			lane.tasks.addLast(task);
+		}
+		try {
+			executor.execute(this::runNext);
+		} catch (RejectedExecutionException e) {
+			synchronized (this) {
+				lane.tasks.removeLastOccurrence(task);
+			}
+			throw e;
+		}
+		if (null != lane.reserved) {
+			try {
+				lane.reserved.execute(() -> runReserved(lane));
+			} catch (RejectedExecutionException e) {
+				log.debug("Reserved threads of lane {} are shut down, leaving the task to the shared executor", priority);
+			}
+		}
+	}
+
+	/*
+		Reserved threads skip the round robin, they only ever take the oldest task of their own lane.
+	 */
+	private void runReserved(final Lane lane) {
+		final Runnable task;
+		synchronized (this) {
+			task = lane.tasks.pollFirst();
+			if (null != task) {
+				lane.dispatched++;
+			}
+		}
+		if (null != task) {
+			task.run();
+		}
+	}
+
+	private void runNext() {
+		final Runnable task;
+		synchronized (this) {
+			task = next();
+		}
+		if (null != task) {
+			task.run();
+		}
+	}
+
+	private Runnable next() {
+		Lane selected = null;
+		var totalWeight = 0;
+		for (final var lane : lanes.values()) {
+			if (lane.tasks.isEmpty()) {
+				continue;
+			}
+			lane.currentWeight += lane.weight;
+			totalWeight += lane.weight;
+			if (null == selected || lane.currentWeight > selected.currentWeight) {
+				selected = lane;
+			}
+		}
+		if (null == selected) {
+			return null;
+		}
+		selected.currentWeight -= totalWeight;
+		selected.dispatched++;
+		return selected.tasks.pollFirst();
+	}
+
+	public synchronized int getQueued(final Priority priority) {
+		return lanes.get(priority).tasks.size();
+	}
+
+	public synchronized long getDispatched(final Priority priority) {
+		return lanes.get(priority).dispatched;
+	}
+
+	@Override
+	public void close() {
+		lanes.values().stream()
+				.filter(lane -> null != lane.reserved)
+				.forEach(lane -> lane.reserved.shutdown());
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.resolver;
+
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.priority.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/*
+	Reads the priority from a tag of the form priority-high. Messages without one, or with an unknown value, are NORMAL.
+ */
+@AllArgsConstructor
+@Data
+public class TagBasedPriorityResolver implements PriorityResolver {
+
+	private static final String PRIORITY_TAG = "priority";
+	private static final String TAG_SEPARATOR = "-";
+
+	@Override
+	public Priority getPriority(LeiaMessage leiaMessage) {
+		final var tags = leiaMessage.getTags();
+		if (null == tags || tags.isEmpty()) {
+			return Priority.NORMAL;
+		}
+		final var priorityTag = tags.stream()
+				.filter(each -> each.startsWith(PRIORITY_TAG + TAG_SEPARATOR)).findFirst().orElse(null);
+		if (null == priorityTag) {
+			return Priority.NORMAL;
+		}
+		final var value = priorityTag.toUpperCase(Locale.ROOT).substring(priorityTag.lastIndexOf(TAG_SEPARATOR) + 1);
+		return Arrays.stream(Priority.values())
+				.filter(each -> each.name().equals(value))
+				.findFirst()
+				.orElse(Priority.NORMAL);
+	}
+}
@@ -20,6 +20,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.grookage.leia.models.ResourceHelper;
 import com.grookage.leia.models.exception.LeiaException;
 import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.dedup.DedupConfig;
+import com.grookage.leia.mux.dedup.MessageDeduplicator;
 import com.grookage.leia.mux.executor.MessageExecutor;
 import com.grookage.leia.mux.executor.MessageExecutorFactory;
 import com.grookage.leia.mux.filter.BackendFilter;
@@ -36,6 +38,14 @@ import java.util.Set;
 
 class DefaultMessageProcessorTest {
 
+	@SneakyThrows
+	private static LeiaMessage message() {
+		final var message = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		}).get(0);
+		message.setTags(Set.of("backend-backend1"));
+		return message;
+	}
+
 	@Test
 	@SneakyThrows
 	void testHttpMessageProcessor() {
@@ -95,4 +105,50 @@ class DefaultMessageProcessorTest {
 		});
 		Mockito.verify(httpExecutor, Mockito.times(2)).send(leiaMessages);
 	}
+
+	@Test
+	@SneakyThrows
+	void testDuplicatesWithinARequestAreSentOnce() {
+		final var httpExecutor = Mockito.mock(MessageExecutor.class);
+		final var messageProcessor = DefaultMessageProcessor.builder()
+				.name("test")
+				.processingThresholdMs(10_000L)
+				.backendNameResolver(new TagBasedNameResolver())
+				.executorFactory(backendName -> Optional.of(httpExecutor))
+				.deduplicator(new MessageDeduplicator(DedupConfig.builder()
+						.identityPath("$.attr")
+						.expectedInsertions(1000)
+						.build()))
+				.build();
+		final var message = message();
+		final var duplicate = message();
+		messageProcessor.processMessages(List.of(message, duplicate), new NoOpBackendFilter());
+		Mockito.verify(httpExecutor, Mockito.times(1)).send(List.of(message));
+		messageProcessor.processMessages(List.of(message()), new NoOpBackendFilter());
+		Mockito.verify(httpExecutor, Mockito.times(1)).send(Mockito.anyList());
+	}
+
+	@Test
+	@SneakyThrows
+	void testFailedSendsStayRetryable() {
+		final var httpExecutor = Mockito.mock(MessageExecutor.class);
+		Mockito.doThrow(new IllegalStateException("unavailable"))
+				.doNothing()
+				.when(httpExecutor).send(Mockito.anyList());
+		final var messageProcessor = DefaultMessageProcessor.builder()
+				.name("test")
+				.processingThresholdMs(10_000L)
+				.backendNameResolver(new TagBasedNameResolver())
+				.executorFactory(backendName -> Optional.of(httpExecutor))
+				.deduplicator(new MessageDeduplicator(DedupConfig.builder()
+						.identityPath("$.attr")
+						.expectedInsertions(1000)
+						.build()))
+				.build();
+		final var messages = List.of(message());
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> messageProcessor.processMessages(messages, new NoOpBackendFilter()));
+		messageProcessor.processMessages(messages, new NoOpBackendFilter());
+		Mockito.verify(httpExecutor, Mockito.times(2)).send(messages);
+	}
 }
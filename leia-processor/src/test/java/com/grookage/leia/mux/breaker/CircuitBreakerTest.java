@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.breaker;
+
+import com.grookage.leia.models.exception.LeiaException;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.executor.MessageExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CircuitBreakerTest {
+
+	private static CircuitBreakerConfig.CircuitBreakerConfigBuilder config() {
+		return CircuitBreakerConfig.builder()
+				.enabled(true)
+				.windowSize(10)
+				.minimumCalls(4)
+				.failureRateThreshold(0.5)
+				.slowCallRateThreshold(0.5)
+				.slowCallDurationMs(100)
+				.openDurationMs(50)
+				.halfOpenPermittedCalls(2);
+	}
+
+	@Test
+	void testOpensOnFailuresAndClosesAfterHealthyTrials() throws Exception {
+		final var breaker = new CircuitBreaker("backend1", config().build());
+		final var events = new ArrayList<String>();
+		breaker.addListener((name, from, to) -> events.add(from + "->" + to));
+
+		breaker.onResult(10, true);
+		breaker.onResult(10, true);
+		breaker.onResult(10, false);
+		Assertions.assertEquals(CircuitState.CLOSED, breaker.getState());
+		breaker.onResult(10, false);
+		Assertions.assertEquals(CircuitState.OPEN, breaker.getState());
+		Assertions.assertFalse(breaker.tryAcquirePermission());
+		Assertions.assertEquals(1, breaker.getRejectedCount());
+
+		Thread.sleep(60);
+		Assertions.assertTrue(breaker.tryAcquirePermission());
+		Assertions.assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+		Assertions.assertTrue(breaker.tryAcquirePermission());
+		Assertions.assertFalse(breaker.tryAcquirePermission());
+		breaker.releasePermission();
+		Assertions.assertTrue(breaker.tryAcquirePermission());
+		breaker.onResult(10, true);
+		breaker.onResult(10, true);
+		Assertions.assertEquals(CircuitState.CLOSED, breaker.getState());
+		Assertions.assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), events);
+		Assertions.assertEquals(1, breaker.getTransitionCount(CircuitState.OPEN));
+	}
+
+	@Test
+	void testOpensOnSlowCallsAndReopensOnFailedTrial() throws Exception {
+		final var breaker = new CircuitBreaker("backend1", config().build());
+		for (int i = 0; i < 4; i++) {
+			breaker.onResult(500, true);
+		}
+		Assertions.assertEquals(CircuitState.OPEN, breaker.getState());
+		Thread.sleep(60);
+		Assertions.assertTrue(breaker.tryAcquirePermission());
+		Assertions.assertTrue(breaker.tryAcquirePermission());
+		breaker.onResult(10, false);
+		breaker.onResult(10, true);
+		Assertions.assertEquals(CircuitState.OPEN, breaker.getState());
+		Assertions.assertEquals(2, breaker.getTransitionCount(CircuitState.OPEN));
+	}
+
+	@Test
+	void testOpenCircuitActions() {
+		final var sends = new AtomicInteger();
+		final var handled = new AtomicInteger();
+		final var executor = new MessageExecutor() {
+			@Override
+			public String getName() {
+				return "backend1";
+			}
+
+			@Override
+			public void sendEnvelope(List<LeiaMessage> messages) {
+				sends.incrementAndGet();
+				throw new IllegalStateException("Backend unavailable");
+			}
+
+			@Override
+			public void handleException(List<LeiaMessage> messages, Exception exception) {
+				handled.incrementAndGet();
+			}
+		};
+		executor.setCircuitBreaker(new CircuitBreaker("backend1", config().openDurationMs(60_000).build()));
+		for (int i = 0; i < 6; i++) {
+			executor.send(List.of());
+		}
+		Assertions.assertEquals(4, sends.get());
+		Assertions.assertEquals(6, handled.get());
+
+		executor.setCircuitBreaker(new CircuitBreaker("backend1", config()
+				.openDurationMs(60_000)
+				.openAction(OpenCircuitAction.FAIL_FAST)
+				.build()));
+		for (int i = 0; i < 4; i++) {
+			executor.send(List.of());
+		}
+		Assertions.assertThrows(LeiaException.class, () -> executor.send(List.of()));
+		Assertions.assertEquals(8, sends.get());
+		Assertions.assertEquals(10, handled.get());
+	}
+}
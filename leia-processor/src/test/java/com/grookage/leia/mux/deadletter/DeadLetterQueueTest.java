@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.deadletter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.executor.MessageExecutor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DeadLetterQueueTest {
+
+	private static class TestExecutor extends MessageExecutor {
+		private final AtomicBoolean failing = new AtomicBoolean(true);
+		private final AtomicBoolean reportsFailures = new AtomicBoolean(false);
+		private final List<LeiaMessage> delivered = new ArrayList<>();
+		private final AtomicInteger handled = new AtomicInteger();
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		@Override
+		public String getName() {
+			return "backend1";
+		}
+
+		@Override
+		public void sendEnvelope(List<LeiaMessage> messages) {
+			attempts.incrementAndGet();
+			if (failing.get() && reportsFailures.get()) {
+				onSendFailure(messages, new IllegalStateException("Backend unavailable"));
+				return;
+			}
+			if (failing.get()) {
+				throw new IllegalStateException("Backend unavailable");
+			}
+			delivered.addAll(messages);
+		}
+
+		@Override
+		public void handleException(List<LeiaMessage> messages, Exception exception) {
+			handled.incrementAndGet();
+		}
+	}
+
+	private static DeadLetterConfig config(final Path path) {
+		return DeadLetterConfig.builder()
+				.path(path.toString())
+				.replayEnabled(false)
+				.replayDelayMs(0)
+				.replayMessagesPerSecond(1_000_000)
+				.build();
+	}
+
+	@Test
+	@SneakyThrows
+	void testFailedBatchesAreParkedAndReplayed(@TempDir Path tempDir) {
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		final var executor = new TestExecutor();
+		final var deadLetterQueue = DeadLetterQueue.builder()
+				.config(config(tempDir))
+				.mapper(ResourceHelper.getObjectMapper())
+				.executorFactory(backendName -> Optional.of(executor))
+				.build();
+		executor.setDeadLetterQueue(deadLetterQueue);
+
+		executor.send(messages);
+		executor.send(messages);
+		Assertions.assertEquals(0, executor.handled.get());
+		deadLetterQueue.append(executor.getName(), List.of(), null).join();
+		Assertions.assertEquals(3, deadLetterQueue.getDepth());
+		Assertions.assertTrue(deadLetterQueue.getOldestAgeMs() >= 0);
+
+		deadLetterQueue.replay();
+		Assertions.assertEquals(3, deadLetterQueue.getDepth());
+		Assertions.assertEquals(1, deadLetterQueue.getReplayFailures());
+
+		executor.failing.set(false);
+		deadLetterQueue.replay();
+		Assertions.assertEquals(0, deadLetterQueue.getDepth());
+		Assertions.assertEquals(messages.size() * 2, executor.delivered.size());
+		Assertions.assertEquals(messages.size() * 2L, deadLetterQueue.getReplayedCount());
+		Assertions.assertEquals(0, deadLetterQueue.getOldestAgeMs());
+		deadLetterQueue.close();
+	}
+
+	@Test
+	@SneakyThrows
+	void testDeadLettersSurviveRestart(@TempDir Path tempDir) {
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		final var executor = new TestExecutor();
+		final var deadLetterQueue = DeadLetterQueue.builder()
+				.config(config(tempDir))
+				.mapper(ResourceHelper.getObjectMapper())
+				.executorFactory(backendName -> Optional.of(executor))
+				.build();
+		deadLetterQueue.append(executor.getName(), messages, new IllegalStateException("Backend unavailable")).join();
+		deadLetterQueue.close();
+
+		final var reopened = DeadLetterQueue.builder()
+				.config(config(tempDir))
+				.mapper(ResourceHelper.getObjectMapper())
+				.executorFactory(backendName -> Optional.of(executor))
+				.build();
+		Assertions.assertEquals(1, reopened.getDepth(executor.getName()));
+		executor.failing.set(false);
+		reopened.replay();
+		Assertions.assertEquals(messages, executor.delivered);
+		Assertions.assertEquals(0, reopened.getDepth());
+		reopened.close();
+	}
+
+	@Test
+	@SneakyThrows
+	void testReplayStopsOnRedeadLetterAndCompacts(@TempDir Path tempDir) {
+		final var messages = ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		});
+		final var executor = new TestExecutor();
+		executor.reportsFailures.set(true);
+		final var deadLetterQueue = DeadLetterQueue.builder()
+				.config(DeadLetterConfig.builder()
+						.path(tempDir.toString())
+						.replayEnabled(false)
+						.replayDelayMs(0)
+						.replayMessagesPerSecond(1_000_000)
+						.replayBatchSize(1)
+						.compactThresholdBytes(1)
+						.build())
+				.mapper(ResourceHelper.getObjectMapper())
+				.executorFactory(backendName -> Optional.of(executor))
+				.build();
+		executor.setDeadLetterQueue(deadLetterQueue);
+		final var cause = new IllegalStateException("Backend unavailable");
+		for (int i = 0; i < 3; i++) {
+			deadLetterQueue.append(executor.getName(), messages, cause).join();
+		}
+		final var logFile = tempDir.resolve(executor.getName() + DeadLetterLog.LOG_SUFFIX);
+		final var recordSize = Files.size(logFile) / 3;
+
+		deadLetterQueue.replay();
+		Assertions.assertEquals(1, executor.attempts.get());
+		Assertions.assertEquals(1, deadLetterQueue.getReplayFailures());
+		Assertions.assertEquals(0, deadLetterQueue.getReplayedCount());
+		/*
+			Flushes the writer, which has the batch dead lettered by the replay queued.
+		 */
+		deadLetterQueue.append(executor.getName(), messages, cause).join();
+		Assertions.assertEquals(4, deadLetterQueue.getDepth());
+		Assertions.assertEquals(recordSize * 4, Files.size(logFile));
+
+		executor.failing.set(false);
+		deadLetterQueue.replay();
+		Assertions.assertEquals(0, deadLetterQueue.getDepth());
+		Assertions.assertEquals(messages.size() * 4, executor.delivered.size());
+		Assertions.assertEquals(0, Files.size(logFile));
+		deadLetterQueue.close();
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.dedup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.grookage.leia.models.ResourceHelper;
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.models.schema.SchemaKey;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MessageDeduplicatorTest {
+
+	@SneakyThrows
+	private static LeiaMessage message() {
+		return ResourceHelper.getResource("mux/leiaMessages.json", new TypeReference<List<LeiaMessage>>() {
+		}).get(0);
+	}
+
+	@Test
+	void testRecordedMessagesAreDuplicates() {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.attr")
+				.expectedInsertions(1000)
+				.build());
+		final var message = message();
+		Assertions.assertFalse(deduplicator.isDuplicate(message));
+		deduplicator.record(message);
+		Assertions.assertTrue(deduplicator.isDuplicate(message()));
+		Assertions.assertEquals(0.5, deduplicator.getHitRate());
+
+		final var otherSchema = message();
+		otherSchema.setSchemaKey(SchemaKey.builder()
+				.orgId("testOrg")
+				.namespace("testNamespace")
+				.tenantId("tenantId")
+				.schemaName("testSchema")
+				.version("V5678")
+				.build());
+		Assertions.assertFalse(deduplicator.isDuplicate(otherSchema));
+	}
+
+	@Test
+	void testMessagesWithoutIdentityAreNeverDuplicates() {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.id")
+				.expectedInsertions(1000)
+				.build());
+		final var message = message();
+		deduplicator.record(message);
+		Assertions.assertFalse(deduplicator.isDuplicate(message));
+		Assertions.assertEquals(0, deduplicator.getDuplicateCount());
+	}
+
+	@Test
+	void testWindowExpiry() throws Exception {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.attr")
+				.windowMs(200)
+				.expectedInsertions(1000)
+				.build());
+		final var message = message();
+		deduplicator.record(message);
+		Thread.sleep(250);
+		Assertions.assertTrue(deduplicator.isDuplicate(message));
+		Thread.sleep(450);
+		Assertions.assertFalse(deduplicator.isDuplicate(message));
+	}
+
+	@Test
+	void testClaimedMessagesAreDuplicatesUntilReleased() {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.attr")
+				.expectedInsertions(1000)
+				.build());
+		Assertions.assertTrue(deduplicator.tryClaim(message()));
+		Assertions.assertFalse(deduplicator.tryClaim(message()));
+		Assertions.assertTrue(deduplicator.isDuplicate(message()));
+		deduplicator.release(message());
+		Assertions.assertTrue(deduplicator.tryClaim(message()));
+		deduplicator.record(message());
+		Assertions.assertFalse(deduplicator.tryClaim(message()));
+		Assertions.assertEquals(3, deduplicator.getDuplicateCount());
+	}
+
+	@Test
+	void testClaimsByKey() {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.attr")
+				.expectedInsertions(1000)
+				.build());
+		final var key = deduplicator.getKey(message());
+		Assertions.assertNotNull(key);
+		Assertions.assertEquals(key, deduplicator.getKey(message()));
+		Assertions.assertTrue(deduplicator.tryClaim(message(), key));
+		Assertions.assertFalse(deduplicator.tryClaim(message()));
+		deduplicator.release(key);
+		Assertions.assertTrue(deduplicator.tryClaim(message(), key));
+		deduplicator.record(key);
+		Assertions.assertTrue(deduplicator.isDuplicate(message()));
+		Assertions.assertTrue(deduplicator.tryClaim(message(), null));
+	}
+
+	@Test
+	void testConcurrentClaimsLetOneMessageThrough() throws Exception {
+		final var deduplicator = new MessageDeduplicator(DedupConfig.builder()
+				.identityPath("$.attr")
+				.expectedInsertions(1000)
+				.build());
+		final var pool = Executors.newFixedThreadPool(8);
+		final var start = new CountDownLatch(1);
+		final var claimed = new AtomicInteger();
+		for (int i = 0; i < 8; i++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (deduplicator.tryClaim(message())) {
+					claimed.incrementAndGet();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, claimed.get());
+	}
+}
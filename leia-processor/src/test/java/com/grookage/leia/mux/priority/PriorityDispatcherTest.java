@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.priority;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class PriorityDispatcherTest {
+
+	@Test
+	void testHighPriorityIsNotQueuedBehindBulkTraffic() throws Exception {
+		final var pool = Executors.newSingleThreadExecutor();
+		final var dispatcher = new PriorityDispatcher(pool, Map.of());
+		final var blocked = new CountDownLatch(1);
+		pool.execute(() -> {
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final var order = Collections.synchronizedList(new ArrayList<String>());
+		for (int i = 0; i < 5; i++) {
+			dispatcher.execute(Priority.LOW, () -> order.add("LOW"));
+		}
+		dispatcher.execute(Priority.HIGH, () -> order.add("HIGH"));
+		dispatcher.execute(Priority.HIGH, () -> order.add("HIGH"));
+		Assertions.assertEquals(5, dispatcher.getQueued(Priority.LOW));
+		blocked.countDown();
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("HIGH", "HIGH", "LOW", "LOW", "LOW", "LOW", "LOW"), order);
+		Assertions.assertEquals(2, dispatcher.getDispatched(Priority.HIGH));
+	}
+
+	@Test
+	void testLanesShareThePoolByWeight() throws Exception {
+		final var pool = Executors.newSingleThreadExecutor();
+		final var dispatcher = new PriorityDispatcher(pool, Map.of(Priority.HIGH, 2, Priority.LOW, 1));
+		final var blocked = new CountDownLatch(1);
+		pool.execute(() -> {
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final var order = Collections.synchronizedList(new ArrayList<Priority>());
+		for (int i = 0; i < 6; i++) {
+			dispatcher.execute(Priority.HIGH, () -> order.add(Priority.HIGH));
+			dispatcher.execute(Priority.LOW, () -> order.add(Priority.LOW));
+		}
+		blocked.countDown();
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(2, Collections.frequency(order.subList(0, 3), Priority.HIGH));
+		Assertions.assertEquals(4, Collections.frequency(order.subList(0, 6), Priority.HIGH));
+	}
+
+	@Test
+	void testHighPriorityRunsWhileThePoolIsBusyWithLow() throws Exception {
+		final var pool = Executors.newFixedThreadPool(2);
+		final var dispatcher = new PriorityDispatcher(pool, Map.of(), Map.of(Priority.HIGH, 1));
+		final var blocked = new CountDownLatch(1);
+		final var lowStarted = new CountDownLatch(2);
+		for (int i = 0; i < 10; i++) {
+			dispatcher.execute(Priority.LOW, () -> {
+				lowStarted.countDown();
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		Assertions.assertTrue(lowStarted.await(5, TimeUnit.SECONDS));
+		final var highRan = new CountDownLatch(1);
+		dispatcher.execute(Priority.HIGH, highRan::countDown);
+		Assertions.assertTrue(highRan.await(1, TimeUnit.SECONDS));
+		Assertions.assertEquals(8, dispatcher.getQueued(Priority.LOW));
+		Assertions.assertEquals(0, dispatcher.getQueued(Priority.HIGH));
+		blocked.countDown();
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(10, dispatcher.getDispatched(Priority.LOW));
+		Assertions.assertEquals(1, dispatcher.getDispatched(Priority.HIGH));
+		dispatcher.close();
+	}
+
+	@Test
+	void testThreadsAreOnlyReservedWhenConfigured() throws Exception {
+		final var pool = Executors.newSingleThreadExecutor();
+		final var dispatcher = new PriorityDispatcher(pool, null, null);
+		final var blocked = new CountDownLatch(1);
+		pool.execute(() -> {
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final var highRan = new CountDownLatch(1);
+		dispatcher.execute(Priority.HIGH, highRan::countDown);
+		Assertions.assertFalse(highRan.await(200, TimeUnit.MILLISECONDS));
+		blocked.countDown();
+		Assertions.assertTrue(highRan.await(5, TimeUnit.SECONDS));
+		pool.shutdown();
+	}
+
+	@Test
+	void testCloseShutsReservedThreadsDown() throws Exception {
+		final var pool = Executors.newSingleThreadExecutor();
+		final var dispatcher = new PriorityDispatcher(pool, Map.of(), Map.of(Priority.NORMAL, 2));
+		final var reservedThread = new AtomicReference<Thread>();
+		final var ran = new CountDownLatch(2);
+		pool.execute(() -> {
+			try {
+				ran.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		dispatcher.execute(Priority.NORMAL, () -> {
+			reservedThread.set(Thread.currentThread());
+			ran.countDown();
+		});
+		dispatcher.execute(Priority.NORMAL, ran::countDown);
+		Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(reservedThread.get().isDaemon());
+		dispatcher.close();
+		reservedThread.get().join(5_000);
+		Assertions.assertFalse(reservedThread.get().isAlive());
+
+		final var afterClose = new CountDownLatch(1);
+		dispatcher.execute(Priority.NORMAL, afterClose::countDown);
+		Assertions.assertTrue(afterClose.await(5, TimeUnit.SECONDS));
+		pool.shutdown();
+	}
+}
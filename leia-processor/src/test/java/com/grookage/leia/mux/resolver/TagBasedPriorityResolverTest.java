@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.mux.resolver;
+
+import com.grookage.leia.models.mux.LeiaMessage;
+import com.grookage.leia.mux.priority.Priority;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class TagBasedPriorityResolverTest {
+
+	@Test
+	void testPriorityResolver() {
+		final var resolver = new TagBasedPriorityResolver();
+		final var leiaMessage = LeiaMessage.builder()
+				.tags(Set.of("backend-backend1", "priority-high"))
+				.build();
+		Assertions.assertEquals(Priority.HIGH, resolver.getPriority(leiaMessage));
+		leiaMessage.setTags(Set.of("priority-Low"));
+		Assertions.assertEquals(Priority.LOW, resolver.getPriority(leiaMessage));
+		leiaMessage.setTags(Set.of("priority-urgent"));
+		Assertions.assertEquals(Priority.NORMAL, resolver.getPriority(leiaMessage));
+		leiaMessage.setTags(Set.of("backend-backend1"));
+		Assertions.assertEquals(Priority.NORMAL, resolver.getPriority(leiaMessage));
+	}
+}
@@ -19,6 +19,8 @@ package com.grookage.leia.repository;
 import com.grookage.leia.models.request.SearchRequest;
 import com.grookage.leia.models.schema.SchemaDetails;
 import com.grookage.leia.models.schema.SchemaKey;
+import com.grookage.leia.models.schema.SchemaPage;
+import com.grookage.leia.models.utils.SchemaUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,4 +34,23 @@ public interface SchemaRepository {
 	Optional<SchemaDetails> get(final SchemaKey schemaKey);
 
 	List<SchemaDetails> getSchemas(final SearchRequest searchRequest);
+
+	/*
+		Schemas whose updatedAt is strictly greater than the given epoch millis. Stores that can filter on the
+		watermark natively should override this, the default scans everything and filters in memory.
+	 */
+	default List<SchemaDetails> getSchemasUpdatedAfter(final long updatedAfter) {
+		return getSchemas(SearchRequest.builder().build())
+				.stream()
+				.filter(schemaDetails -> schemaDetails.getUpdatedAt() > updatedAfter)
+				.toList();
+	}
+
+	/*
+		One page of getSchemas, ordered by referenceId and starting after cursor (null for the first page). The
+		default pages over a full search, stores that can seek natively should override this.
+	 */
+	default SchemaPage getSchemaPage(final SearchRequest searchRequest, final String cursor, final int limit) {
+		return SchemaUtils.getPage(getSchemas(searchRequest), cursor, limit);
+	}
 }
@@ -31,5 +31,16 @@ public class CacheConfig {
 
 	private boolean enabled;
 	private int refreshCacheSeconds;
+	/*
+		When set, refreshes in between only pull the schemas changed since the last one and a full reload runs
+		this often as a safety net. 0 (the default) reloads everything on every refresh.
+	 */
+	private int fullResyncSeconds;
+	private KeyCacheConfig keyCache;
+	/*
+		When set, the registry is saved here after every refresh and served from here on startup until the first
+		refresh completes.
+	 */
+	private String snapshotPath;
 
 }
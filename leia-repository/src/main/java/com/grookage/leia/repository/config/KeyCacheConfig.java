@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2025. Koushik R <rkoushik.14@gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.grookage.leia.repository.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+	Bounded per-SchemaKey cache in front of the repository, used for key lookups that don't go to the full registry
+	snapshot. Missing keys are cached too unless cacheMissingKeys is turned off.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class KeyCacheConfig {
+
+	private boolean enabled;
+	@Builder.Default
+	private long maximumSize = 10_000;
+	@Builder.Default
+	private int expireAfterWriteSeconds = 60;
+	@Builder.Default
+	private boolean cacheMissingKeys = true;
+
+}